@@ -0,0 +1,46 @@
+package com.github.salilvnair.auditx.benchmarks;
+
+import com.github.salilvnair.auditx.core.model.AuditSeverity;
+import com.github.salilvnair.auditx.core.model.AuditSource;
+import com.github.salilvnair.auditx.core.model.AuditWriteRequest;
+import com.github.salilvnair.auditx.core.model.CanonicalAuditEnvelope;
+
+/**
+ * Representative payloads shared by the benchmarks.
+ */
+final class BenchmarkFixtures {
+    static final String CONVERSATION_ID = "550e8400-e29b-41d4-a716-446655440000";
+
+    private BenchmarkFixtures() {
+    }
+
+    static AuditWriteRequest writeRequest() {
+        return writeRequestBuilder().build();
+    }
+
+    static AuditWriteRequest.Builder writeRequestBuilder() {
+        return AuditWriteRequest.builder()
+                .eventType("BILLING_VALIDATION_FAILED")
+                .source(AuditSource.API)
+                .severity(AuditSeverity.ERROR)
+                .conversationId(CONVERSATION_ID)
+                .groupId("grp-1001")
+                .interactionId("int-2001")
+                .traceId("trace-9f8d2")
+                .spanId("span-11")
+                .businessKey("zapperCustId", "ZP-10091")
+                .businessKey("requestType", "DISCONNECT")
+                .extra("phase", "ai-validation")
+                .extra("model", "address-similarity")
+                .extra("score", 0.72)
+                .extra("address", "ABCD, XX")
+                .extra("plan", "PREMIUM")
+                .actorEntry("initiator", "CCTEAM")
+                .error("code", "ADDRESS_MISMATCH")
+                .error("message", "Address similarity below threshold");
+    }
+
+    static CanonicalAuditEnvelope envelope() {
+        return CanonicalAuditEnvelope.fromWriteRequest(writeRequest(), AuditSeverity.ERROR);
+    }
+}
@@ -0,0 +1,41 @@
+package com.github.salilvnair.auditx.benchmarks;
+
+import com.github.salilvnair.auditx.core.model.CanonicalAuditEnvelope;
+import com.github.salilvnair.auditx.core.persistence.AuditEventEntity;
+import com.github.salilvnair.auditx.core.persistence.AuditStorageProfile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityMappingBenchmark {
+    @Param({"FULL", "COLUMNS_ONLY", "PAYLOAD_ONLY"})
+    public AuditStorageProfile storageProfile;
+
+    private CanonicalAuditEnvelope envelope;
+
+    @Setup
+    public void setUp() {
+        envelope = BenchmarkFixtures.envelope();
+    }
+
+    @Benchmark
+    public AuditEventEntity fromEnvelope() {
+        return AuditEventEntity.fromEnvelope(envelope, storageProfile);
+    }
+}
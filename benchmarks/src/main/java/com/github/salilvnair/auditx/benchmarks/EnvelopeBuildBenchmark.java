@@ -0,0 +1,63 @@
+package com.github.salilvnair.auditx.benchmarks;
+
+import com.github.salilvnair.auditx.core.model.AuditWriteRequest;
+import com.github.salilvnair.auditx.core.model.CanonicalAuditEnvelope;
+import com.github.salilvnair.auditx.starter.service.DefaultAuditService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building a canonical envelope from an {@link AuditWriteRequest}, the way {@link DefaultAuditService} does it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EnvelopeBuildBenchmark {
+    private AuditWriteRequest request;
+    private DefaultAuditService auditService;
+    private Blackhole blackhole;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        this.blackhole = blackhole;
+        this.request = BenchmarkFixtures.writeRequest();
+        this.auditService = new DefaultAuditService(envelope -> this.blackhole.consume(envelope));
+    }
+
+    @Benchmark
+    public void auditServicePublish() {
+        auditService.publish(request);
+    }
+
+    @Benchmark
+    public CanonicalAuditEnvelope builder() {
+        return CanonicalAuditEnvelope.builder()
+                .eventType(request.getEventType())
+                .severity(request.getSeverity())
+                .source(request.getSource())
+                .conversationId(request.getConversationId())
+                .groupId(request.getGroupId())
+                .interactionId(request.getInteractionId())
+                .traceId(request.getTraceId())
+                .spanId(request.getSpanId())
+                .businessKeys(request.getBusinessKeys())
+                .extraMap(request.getExtraMap())
+                .actor(request.getActor())
+                .errorMap(request.getErrorMap())
+                .build();
+    }
+}
@@ -0,0 +1,43 @@
+package com.github.salilvnair.auditx.benchmarks;
+
+import com.github.salilvnair.auditx.core.model.CanonicalAuditEnvelope;
+import com.github.salilvnair.auditx.core.service.DefaultIdempotencyKeyFactory;
+import com.github.salilvnair.auditx.core.service.IdempotencyHashAlgorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdempotencyKeyBenchmark {
+    @Param({"SHA_256", "MURMUR3_128"})
+    public IdempotencyHashAlgorithm algorithm;
+
+    private DefaultIdempotencyKeyFactory factory;
+    private CanonicalAuditEnvelope envelope;
+
+    @Setup
+    public void setUp() {
+        factory = new DefaultIdempotencyKeyFactory(algorithm);
+        envelope = BenchmarkFixtures.envelope();
+    }
+
+    @Benchmark
+    public String create() {
+        return factory.create(envelope);
+    }
+}
@@ -0,0 +1,87 @@
+package com.github.salilvnair.auditx.benchmarks;
+
+import com.github.salilvnair.auditx.core.model.AuditWriteRequest;
+import com.github.salilvnair.auditx.core.service.AuditService;
+import com.github.salilvnair.auditx.starter.annotation.EnableAuditX;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end synchronous publish through {@code JpaAuditPublisher} into embedded H2 running in PostgreSQL mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JpaPublisherBenchmark {
+    @Param({"true", "false"})
+    public boolean enforceIdempotency;
+
+    @Param({"FULL", "PAYLOAD_ONLY"})
+    public String storageProfile;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private AuditService auditService;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "spring.datasource.url=jdbc:h2:mem:auditx_bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "spring.sql.init.mode=always",
+                        "spring.sql.init.schema-locations=classpath:auditx-benchmark-schema.sql",
+                        "spring.jpa.hibernate.ddl-auto=none",
+                        "audit.connector.async-jpa-publish=false",
+                        "audit.connector.enforce-idempotency=" + enforceIdempotency,
+                        "audit.connector.storage-profile=" + storageProfile
+                )
+                .run();
+        auditService = context.getBean(AuditService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void publish() {
+        long n = sequence.incrementAndGet();
+        // a unique interaction id keeps each event distinct for the derived idempotency key
+        AuditWriteRequest.Builder builder = BenchmarkFixtures.writeRequestBuilder().interactionId("int-" + n);
+        if (!enforceIdempotency) {
+            builder.idempotencyKey("bench-" + n);
+        }
+        auditService.publish(builder.build());
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EnableAuditX
+    static class BenchmarkApplication {
+    }
+}
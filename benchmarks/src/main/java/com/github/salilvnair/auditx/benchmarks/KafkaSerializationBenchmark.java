@@ -0,0 +1,108 @@
+package com.github.salilvnair.auditx.benchmarks;
+
+import com.github.salilvnair.auditx.core.model.CanonicalAuditEnvelope;
+import com.github.salilvnair.auditx.core.service.DefaultIdempotencyKeyFactory;
+import com.github.salilvnair.auditx.starter.config.AuditConnectorProperties;
+import com.github.salilvnair.auditx.starter.config.KafkaHeaderField;
+import com.github.salilvnair.auditx.starter.config.KafkaPayloadFormat;
+import com.github.salilvnair.auditx.starter.json.AuditJson;
+import com.github.salilvnair.auditx.starter.provider.KafkaAuditPublisher;
+import com.github.salilvnair.auditx.starter.provider.KafkaPayloadEncoder;
+import com.github.salilvnair.auditx.starter.provider.LoggingKafkaPublishFailureHandler;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Synchronous {@link KafkaAuditPublisher} publish with the broker send replaced by an already completed future,
+ * so the measurement covers validation, key derivation and payload encoding only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KafkaSerializationBenchmark {
+    @Param({"JSON_STRING", "JSON", "SMILE", "CBOR"})
+    public KafkaPayloadFormat payloadFormat;
+
+    @Param({"false", "true"})
+    public boolean routingHeaders;
+
+    private KafkaAuditPublisher<?> publisher;
+    private CanonicalAuditEnvelope envelope;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        AuditConnectorProperties properties = new AuditConnectorProperties();
+        properties.setAsyncKafkaPublish(false);
+        if (routingHeaders) {
+            properties.getKafka().setHeaders(List.of(
+                    KafkaHeaderField.EVENT_TYPE,
+                    KafkaHeaderField.SEVERITY,
+                    KafkaHeaderField.SOURCE,
+                    KafkaHeaderField.CONVERSATION_ID
+            ));
+        }
+        publisher = payloadFormat == KafkaPayloadFormat.JSON_STRING
+                ? publisher(blackhole, KafkaPayloadEncoder.jsonString(AuditJson.mapper()), properties)
+                : publisher(blackhole, KafkaPayloadEncoder.bytes(payloadFormat), properties);
+        envelope = BenchmarkFixtures.envelope();
+    }
+
+    private static <V> KafkaAuditPublisher<V> publisher(
+            Blackhole blackhole,
+            KafkaPayloadEncoder<V> encoder,
+            AuditConnectorProperties properties
+    ) {
+        return new KafkaAuditPublisher<>(
+                new CompletedSendKafkaTemplate<>(blackhole),
+                encoder,
+                new DefaultIdempotencyKeyFactory(),
+                properties,
+                null,
+                null,
+                new LoggingKafkaPublishFailureHandler()
+        );
+    }
+
+    @Benchmark
+    public void publish() {
+        publisher.publish(envelope);
+    }
+
+    static final class CompletedSendKafkaTemplate<V> extends KafkaTemplate<String, V> {
+        private final CompletableFuture<SendResult<String, V>> completed = CompletableFuture.completedFuture(null);
+        private final Blackhole blackhole;
+
+        CompletedSendKafkaTemplate(Blackhole blackhole) {
+            super(new DefaultKafkaProducerFactory<>(Map.of()));
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public CompletableFuture<SendResult<String, V>> send(ProducerRecord<String, V> record) {
+            blackhole.consume(record);
+            return completed;
+        }
+    }
+}
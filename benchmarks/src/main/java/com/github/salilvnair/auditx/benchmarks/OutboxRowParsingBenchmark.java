@@ -0,0 +1,81 @@
+package com.github.salilvnair.auditx.benchmarks;
+
+import com.github.salilvnair.auditx.starter.json.AuditJson;
+import com.github.salilvnair.auditx.starter.outbox.OutboxRecord;
+import com.github.salilvnair.auditx.starter.outbox.OutboxRecordRowMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping one claimed outbox row, as the drain service does, over an in-memory {@link ResultSet}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OutboxRowParsingBenchmark {
+    private OutboxRecordRowMapper rowMapper;
+    private ResultSet row;
+
+    @Setup
+    public void setUp() throws Exception {
+        rowMapper = new OutboxRecordRowMapper(AuditJson.mapper());
+        Map<String, Object> columns = new HashMap<>();
+        columns.put("id", 42L);
+        columns.put("stage", "VALIDATION");
+        columns.put("conversation_id", BenchmarkFixtures.CONVERSATION_ID);
+        columns.put("trace_id", "trace-9f8d2");
+        columns.put("source", "API");
+        columns.put("severity", "ERROR");
+        columns.put("metadata", "{\"producer\":\"billing-service\",\"attempt\":1}");
+        columns.put("audit_write_request", AuditJson.mapper().writeValueAsString(BenchmarkFixtures.writeRequest()));
+        columns.put("canonical_envelope", null);
+        columns.put("retry_count", 0);
+        columns.put("max_retries", 5);
+        columns.put("locked_at", OffsetDateTime.now(ZoneOffset.UTC));
+        row = singleRow(columns);
+    }
+
+    @Benchmark
+    public OutboxRecord mapRow() throws SQLException {
+        return rowMapper.mapRow(row, 0);
+    }
+
+    private static ResultSet singleRow(Map<String, Object> columns) {
+        return (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    Object value = columns.get((String) args[0]);
+                    return switch (method.getName()) {
+                        case "getString" -> (String) value;
+                        case "getBytes" -> value == null ? null : ((String) value).getBytes(StandardCharsets.UTF_8);
+                        case "getLong" -> ((Number) value).longValue();
+                        case "getInt" -> ((Number) value).intValue();
+                        case "getObject" -> value;
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    };
+                }
+        );
+    }
+}
@@ -40,6 +40,11 @@ public class CanonicalAuditEnvelope {
     String interactionId;
     String traceId;
     String spanId;
+
+    /**
+     * Lombok {@code @With} reuses the existing (immutable) maps, so enriching the key allocates one shell object.
+     */
+    @lombok.With
     String idempotencyKey;
 
     @lombok.Singular("businessKey")
@@ -54,8 +59,36 @@ public class CanonicalAuditEnvelope {
     @lombok.Singular("error")
     Map<String, Object> errorMap;
 
-    public CanonicalAuditEnvelope withIdempotencyKey(String idempotencyKey) {
-        return this.toBuilder().idempotencyKey(idempotencyKey).build();
+    /**
+     * Builds the envelope straight from a write request without going through the builder:
+     * the request maps are already immutable (built by {@code @Singular}), so they are shared, not copied.
+     */
+    public static CanonicalAuditEnvelope fromWriteRequest(AuditWriteRequest request, AuditSeverity severity) {
+        return new CanonicalAuditEnvelope(
+                UUID.randomUUID(),
+                Instant.now(),
+                request.getEventType(),
+                severity == null ? AuditSeverity.INFO : severity,
+                request.getSource() == null ? AuditSource.OTHER : request.getSource(),
+                null,
+                null,
+                null,
+                request.getSessionId(),
+                request.getConversationId(),
+                request.getGroupId(),
+                request.getInteractionId(),
+                request.getTraceId(),
+                request.getSpanId(),
+                request.getIdempotencyKey(),
+                orEmpty(request.getBusinessKeys()),
+                orEmpty(request.getExtraMap()),
+                orEmpty(request.getActor()),
+                orEmpty(request.getErrorMap())
+        );
+    }
+
+    private static Map<String, Object> orEmpty(Map<String, Object> value) {
+        return value == null ? Map.of() : value;
     }
 
     public static class Builder {
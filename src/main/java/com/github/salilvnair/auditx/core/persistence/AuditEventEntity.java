@@ -1,13 +1,21 @@
 package com.github.salilvnair.auditx.core.persistence;
 
+import com.github.salilvnair.auditx.core.model.AuditSeverity;
+import com.github.salilvnair.auditx.core.model.AuditSource;
 import com.github.salilvnair.auditx.core.model.CanonicalAuditEnvelope;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
 import lombok.Getter;
+import org.hibernate.annotations.Immutable;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
 
 import java.time.Instant;
 import java.util.HashMap;
@@ -17,11 +25,22 @@ import java.util.UUID;
 
 /**
  * Generic persisted representation of canonical audit envelope.
+ * <p>
+ * Rows are insert-only and the id is assigned by the application, so the entity reports itself as new until it is
+ * persisted or loaded. That makes {@code save} call {@code persist} instead of {@code merge}, which would otherwise
+ * select by primary key before every insert. {@link Immutable} skips flush-time dirty checking, which would
+ * otherwise compare the JSON columns against their snapshots and follow the insert with an update.
  */
 @Entity(name = "AuditEvent")
 @Table(name = "AUDITX_EVENT")
+@Immutable
 @Getter
-public class AuditEventEntity {
+public class AuditEventEntity implements Persistable<UUID> {
+    /**
+     * Sized for the 19 payload entries so the map never rehashes.
+     */
+    private static final int PAYLOAD_CAPACITY = 32;
+
     @Id
     private UUID eventId;
 
@@ -87,7 +106,31 @@ public class AuditEventEntity {
     @Column(columnDefinition = "jsonb")
     private Map<String, Object> eventPayload = new HashMap<>();
 
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private boolean newEntity = true;
+
+    @Override
+    public UUID getId() {
+        return eventId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newEntity = false;
+    }
+
     public static AuditEventEntity fromEnvelope(CanonicalAuditEnvelope envelope) {
+        return fromEnvelope(envelope, AuditStorageProfile.FULL);
+    }
+
+    public static AuditEventEntity fromEnvelope(CanonicalAuditEnvelope envelope, AuditStorageProfile storageProfile) {
         AuditEventEntity entity = new AuditEventEntity();
         entity.eventId = envelope.getEventId();
         entity.eventTime = envelope.getEventTime();
@@ -104,16 +147,68 @@ public class AuditEventEntity {
         entity.traceId = envelope.getTraceId();
         entity.spanId = envelope.getSpanId();
         entity.idempotencyKey = envelope.getIdempotencyKey();
-        entity.businessKeys = new HashMap<>(envelope.getBusinessKeys());
-        entity.extraMap = new HashMap<>(envelope.getExtraMap());
-        entity.actor = new HashMap<>(envelope.getActor());
-        entity.errorMap = new HashMap<>(envelope.getErrorMap());
-        entity.eventPayload = toEventPayload(envelope);
+        // envelope maps are immutable and the row is insert-only, so they are referenced rather than copied
+        entity.businessKeys = storageProfile.writesMapColumns() ? envelope.getBusinessKeys() : null;
+        entity.extraMap = storageProfile.writesMapColumns() ? envelope.getExtraMap() : null;
+        entity.actor = storageProfile.writesMapColumns() ? envelope.getActor() : null;
+        entity.errorMap = storageProfile.writesMapColumns() ? envelope.getErrorMap() : null;
+        entity.eventPayload = storageProfile.writesPayload() ? toEventPayload(envelope) : null;
         return entity;
     }
 
-    private static Map<String, Object> toEventPayload(CanonicalAuditEnvelope envelope) {
-        Map<String, Object> payload = new LinkedHashMap<>();
+    /**
+     * Rebuilds the canonical envelope from whichever storage profile wrote this row:
+     * scalar columns are always present, map columns fall back to {@code event_payload}.
+     */
+    public CanonicalAuditEnvelope toEnvelope() {
+        Map<String, Object> payload = eventPayload == null ? Map.of() : eventPayload;
+        CanonicalAuditEnvelope.Builder builder = CanonicalAuditEnvelope.builder()
+                .eventId(eventId)
+                .eventTime(eventTime)
+                .eventType(eventType)
+                .severity(AuditSeverity.valueOf(severity))
+                .source(AuditSource.valueOf(source))
+                .serviceName(serviceName)
+                .serviceVersion(serviceVersion)
+                .environment(environment)
+                .sessionId(sessionId)
+                .conversationId(conversationId)
+                .groupId(groupId)
+                .interactionId(interactionId)
+                .traceId(traceId)
+                .spanId(spanId)
+                .idempotencyKey(idempotencyKey);
+
+        Map<String, Object> businessKeysValue = columnOrPayload(businessKeys, payload, "businessKeys");
+        if (businessKeysValue != null) {
+            builder.businessKeys(businessKeysValue);
+        }
+        Map<String, Object> extraMapValue = columnOrPayload(extraMap, payload, "extraMap");
+        if (extraMapValue != null) {
+            builder.extraMap(extraMapValue);
+        }
+        Map<String, Object> actorValue = columnOrPayload(actor, payload, "actor");
+        if (actorValue != null) {
+            builder.actor(actorValue);
+        }
+        Map<String, Object> errorMapValue = columnOrPayload(errorMap, payload, "errorMap");
+        if (errorMapValue != null) {
+            builder.errorMap(errorMapValue);
+        }
+        return builder.build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> columnOrPayload(Map<String, Object> column, Map<String, Object> payload, String key) {
+        if (column != null) {
+            return column;
+        }
+        Object value = payload.get(key);
+        return value instanceof Map<?, ?> map ? (Map<String, Object>) map : null;
+    }
+
+    public static Map<String, Object> toEventPayload(CanonicalAuditEnvelope envelope) {
+        Map<String, Object> payload = new LinkedHashMap<>(PAYLOAD_CAPACITY);
         payload.put("eventId", envelope.getEventId());
         payload.put("eventTime", envelope.getEventTime());
         payload.put("eventType", envelope.getEventType());
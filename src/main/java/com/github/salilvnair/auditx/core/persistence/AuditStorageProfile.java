@@ -0,0 +1,28 @@
+package com.github.salilvnair.auditx.core.persistence;
+
+/**
+ * Controls which representation of the envelope is persisted.
+ * Scalar columns are always written since they are NOT NULL and indexed.
+ */
+public enum AuditStorageProfile {
+    /**
+     * Map columns and the full {@code event_payload} document (original behaviour).
+     */
+    FULL,
+    /**
+     * Map columns only; {@code event_payload} is left NULL.
+     */
+    COLUMNS_ONLY,
+    /**
+     * {@code event_payload} only; {@code business_keys}, {@code extra_map}, {@code actor} and {@code error_map} are left NULL.
+     */
+    PAYLOAD_ONLY;
+
+    public boolean writesMapColumns() {
+        return this != PAYLOAD_ONLY;
+    }
+
+    public boolean writesPayload() {
+        return this != COLUMNS_ONLY;
+    }
+}
@@ -4,4 +4,12 @@ import com.github.salilvnair.auditx.core.model.CanonicalAuditEnvelope;
 
 public interface AuditPublisher {
     void publish(CanonicalAuditEnvelope envelope);
+
+    /**
+     * Publishes on the calling thread and throws when the sink does not accept the event.
+     * Used to replay spilled events; defaults to {@link #publish(CanonicalAuditEnvelope)}.
+     */
+    default void publishSync(CanonicalAuditEnvelope envelope) {
+        publish(envelope);
+    }
 }
@@ -2,38 +2,42 @@ package com.github.salilvnair.auditx.core.service;
 
 import com.github.salilvnair.auditx.core.model.CanonicalAuditEnvelope;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.HexFormat;
 
 /**
  * Generates deterministic idempotency keys to deduplicate retries/duplicate callbacks.
+ * <p>
+ * The key is the hex encoded hash of {@code eventType|source|conversationId|interactionId|groupId}. Hashing state
+ * is reused per thread and fields are hashed without building the joined string.
  */
 public class DefaultIdempotencyKeyFactory implements IdempotencyKeyFactory {
-    @Override
-    public String create(CanonicalAuditEnvelope envelope) {
-        String input = String.join("|",
-                safe(envelope.getEventType()),
-                safe(envelope.getSource() == null ? null : envelope.getSource().name()),
-                safe(envelope.getConversationId()),
-                safe(envelope.getInteractionId()),
-                safe(envelope.getGroupId())
-        );
-        return sha256(input);
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final IdempotencyHashAlgorithm algorithm;
+    private final ThreadLocal<IdempotencyKeyHasher> hashers;
+
+    public DefaultIdempotencyKeyFactory() {
+        this(IdempotencyHashAlgorithm.SHA_256);
     }
 
-    private String safe(String value) {
-        return value == null ? "" : value;
+    public DefaultIdempotencyKeyFactory(IdempotencyHashAlgorithm algorithm) {
+        this.algorithm = algorithm == null ? IdempotencyHashAlgorithm.SHA_256 : algorithm;
+        this.hashers = ThreadLocal.withInitial(() -> new IdempotencyKeyHasher(this.algorithm));
+    }
+
+    @Override
+    public String create(CanonicalAuditEnvelope envelope) {
+        byte[] hash = hashers.get().reset()
+                .append(envelope.getEventType()).append('|')
+                .append(envelope.getSource() == null ? null : envelope.getSource().name()).append('|')
+                .append(envelope.getConversationId()).append('|')
+                .append(envelope.getInteractionId()).append('|')
+                .append(envelope.getGroupId())
+                .digest();
+        return HEX.formatHex(hash);
     }
 
-    private String sha256(String value) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(value.getBytes(StandardCharsets.UTF_8));
-            return HexFormat.of().formatHex(hash);
-        } catch (NoSuchAlgorithmException ex) {
-            throw new IllegalStateException("SHA-256 algorithm is not available", ex);
-        }
+    public IdempotencyHashAlgorithm getAlgorithm() {
+        return algorithm;
     }
 }
@@ -0,0 +1,34 @@
+package com.github.salilvnair.auditx.core.service;
+
+/**
+ * Hash used to derive idempotency keys.
+ */
+public enum IdempotencyHashAlgorithm {
+    /**
+     * 32 byte digest, 64 hex characters. Default; matches keys produced by earlier versions.
+     */
+    SHA_256(32),
+    /**
+     * Non-cryptographic 16 byte MurmurHash3 (x64, 128 bit), 32 hex characters.
+     */
+    MURMUR3_128(16);
+
+    private final int digestLength;
+
+    IdempotencyHashAlgorithm(int digestLength) {
+        this.digestLength = digestLength;
+    }
+
+    public int digestLength() {
+        return digestLength;
+    }
+
+    /**
+     * Hashes arbitrary bytes; used to fold keys that are not hex digests into the same binary width.
+     */
+    public byte[] hash(byte[] input) {
+        IdempotencyKeyHasher hasher = new IdempotencyKeyHasher(this);
+        hasher.append(input);
+        return hasher.digest();
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.salilvnair.auditx.core.service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Reusable, single-threaded hashing state. Fields are UTF-8 encoded straight into a scratch buffer, producing the
+ * same bytes as {@code String.join(...).getBytes(UTF_8)} without the intermediate strings.
+ */
+final class IdempotencyKeyHasher {
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final IdempotencyHashAlgorithm algorithm;
+    private final MessageDigest messageDigest;
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+    private int length;
+
+    IdempotencyKeyHasher(IdempotencyHashAlgorithm algorithm) {
+        this.algorithm = algorithm;
+        this.messageDigest = algorithm == IdempotencyHashAlgorithm.SHA_256 ? sha256() : null;
+    }
+
+    IdempotencyKeyHasher reset() {
+        length = 0;
+        return this;
+    }
+
+    IdempotencyKeyHasher append(char ascii) {
+        ensureCapacity(1);
+        buffer[length++] = (byte) ascii;
+        return this;
+    }
+
+    IdempotencyKeyHasher append(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, length, bytes.length);
+        length += bytes.length;
+        return this;
+    }
+
+    IdempotencyKeyHasher append(String value) {
+        if (value == null) {
+            return this;
+        }
+        int chars = value.length();
+        ensureCapacity(chars * 3);
+        byte[] out = buffer;
+        int pos = length;
+        for (int i = 0; i < chars; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                out[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                out[pos++] = (byte) (0xC0 | (c >> 6));
+                out[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                char low = i + 1 < chars ? value.charAt(i + 1) : 0;
+                if (Character.isHighSurrogate(c) && Character.isLowSurrogate(low)) {
+                    int codePoint = Character.toCodePoint(c, low);
+                    out[pos++] = (byte) (0xF0 | (codePoint >> 18));
+                    out[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    out[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    out[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+                    i++;
+                } else {
+                    // same replacement String#getBytes uses for malformed input
+                    out[pos++] = '?';
+                }
+            } else {
+                out[pos++] = (byte) (0xE0 | (c >> 12));
+                out[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                out[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        length = pos;
+        return this;
+    }
+
+    byte[] digest() {
+        if (messageDigest != null) {
+            messageDigest.update(buffer, 0, length);
+            return messageDigest.digest();
+        }
+        return Murmur3.hash128(buffer, 0, length);
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 algorithm is not available", ex);
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package com.github.salilvnair.auditx.starter.autoconfigure;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.salilvnair.auditx.core.config.hibernate.AuditxPhysicalNamingStrategy;
 import com.github.salilvnair.auditx.core.persistence.AuditEventEntity;
 import com.github.salilvnair.auditx.core.service.AuditPublisher;
@@ -9,14 +8,33 @@ import com.github.salilvnair.auditx.core.service.DefaultIdempotencyKeyFactory;
 import com.github.salilvnair.auditx.core.service.IdempotencyKeyFactory;
 import com.github.salilvnair.auditx.starter.config.AuditConnectorProperties;
 import com.github.salilvnair.auditx.starter.config.AuditxEntityConfig;
+import com.github.salilvnair.auditx.starter.config.KafkaPayloadFormat;
+import com.github.salilvnair.auditx.starter.executor.BoundedAuditTaskExecutor;
+import com.github.salilvnair.auditx.starter.idempotency.RecentIdempotencyKeyFilter;
+import com.github.salilvnair.auditx.starter.json.AuditJson;
+import com.github.salilvnair.auditx.starter.outbox.AuditOutboxContinuousDrainer;
 import com.github.salilvnair.auditx.starter.outbox.AuditOutboxDrainService;
+import com.github.salilvnair.auditx.starter.outbox.AuditOutboxPartitionMaintainer;
+import com.github.salilvnair.auditx.starter.persistence.AuditEventBulkLoader;
+import com.github.salilvnair.auditx.starter.persistence.AuditEventJdbcWriter;
 import com.github.salilvnair.auditx.starter.persistence.AuditEventRepository;
+import com.github.salilvnair.auditx.starter.persistence.IdempotencyKeyCodec;
+import com.github.salilvnair.auditx.starter.provider.AuditKafkaByteTemplate;
 import com.github.salilvnair.auditx.starter.provider.KafkaAuditPublisher;
+import com.github.salilvnair.auditx.starter.provider.KafkaPayloadEncoder;
+import com.github.salilvnair.auditx.starter.provider.KafkaPublishFailureHandler;
+import com.github.salilvnair.auditx.starter.provider.LoggingKafkaPublishFailureHandler;
 import com.github.salilvnair.auditx.starter.provider.JpaAuditPublisher;
 import com.github.salilvnair.auditx.starter.service.DefaultAuditService;
 import com.github.salilvnair.auditx.starter.web.AuditIngressController;
 import com.github.salilvnair.auditx.starter.web.AuditOutboxDrainController;
+import com.github.salilvnair.auditx.starter.sink.AuditKafkaSink;
+import com.github.salilvnair.auditx.starter.spill.AuditSpillLog;
+import com.github.salilvnair.auditx.starter.spill.AuditSpillReplayer;
+import com.github.salilvnair.auditx.starter.spill.SpillingKafkaPublishFailureHandler;
+import com.github.salilvnair.auditx.starter.writebehind.AuditWriteBehindBuffer;
 import org.hibernate.boot.model.naming.PhysicalNamingStrategy;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -29,10 +47,12 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.task.AsyncTaskExecutor;
-import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.RestController;
 
 @AutoConfiguration
@@ -49,8 +69,8 @@ public class AuditConnectorAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public IdempotencyKeyFactory idempotencyKeyFactory() {
-        return new DefaultIdempotencyKeyFactory();
+    public IdempotencyKeyFactory idempotencyKeyFactory(AuditConnectorProperties properties) {
+        return new DefaultIdempotencyKeyFactory(properties.getIdempotencyKey().getAlgorithm());
     }
 
     @Bean
@@ -58,11 +78,84 @@ public class AuditConnectorAutoConfiguration {
     @Conditional(AsyncDbPublisherCondition.class)
     public AuditPublisher jpaAuditPublisher(
             AuditEventRepository repository,
+            AuditEventJdbcWriter auditEventJdbcWriter,
             IdempotencyKeyFactory idempotencyKeyFactory,
             AuditConnectorProperties properties,
-            @Qualifier("auditXAsyncTaskExecutor") AsyncTaskExecutor auditXAsyncTaskExecutor
+            @Qualifier("auditXAsyncTaskExecutor") AsyncTaskExecutor auditXAsyncTaskExecutor,
+            ObjectProvider<AuditWriteBehindBuffer> auditWriteBehindBuffer,
+            ObjectProvider<RecentIdempotencyKeyFilter> idempotencyPreFilter,
+            ObjectProvider<AuditSpillLog> auditSpillLog
     ) {
-        return new JpaAuditPublisher(repository, idempotencyKeyFactory, properties, auditXAsyncTaskExecutor);
+        return new JpaAuditPublisher(
+                repository,
+                auditEventJdbcWriter,
+                idempotencyKeyFactory,
+                properties,
+                auditXAsyncTaskExecutor,
+                auditWriteBehindBuffer.getIfAvailable(),
+                idempotencyPreFilter.getIfAvailable(),
+                auditSpillLog.getIfAvailable()
+        );
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @Conditional(AsyncDbPublisherCondition.class)
+    public AuditEventJdbcWriter auditEventJdbcWriter(
+            JdbcTemplate jdbcTemplate,
+            AuditxEntityConfig entityConfig,
+            AuditConnectorProperties properties
+    ) {
+        return new AuditEventJdbcWriter(
+                jdbcTemplate,
+                AuditJson.mapper(),
+                entityConfig.eventTableName(),
+                properties.getStorageProfile(),
+                new IdempotencyKeyCodec(
+                        properties.getIdempotencyKey().getStorage(),
+                        properties.getIdempotencyKey().getAlgorithm()
+                )
+        );
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @Conditional(AsyncDbPublisherCondition.class)
+    public AuditEventBulkLoader auditEventBulkLoader(
+            AuditEventJdbcWriter auditEventJdbcWriter,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            AuditConnectorProperties properties
+    ) {
+        return new AuditEventBulkLoader(
+                auditEventJdbcWriter,
+                jdbcTemplate,
+                new TransactionTemplate(transactionManager),
+                AuditJson.mapper(),
+                properties.getBulkLoad().getCopyFormat()
+        );
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @Conditional(AsyncDbPublisherCondition.class)
+    @ConditionalOnProperty(prefix = "audit.connector.write-behind", name = "enabled", havingValue = "true")
+    public AuditWriteBehindBuffer auditWriteBehindBuffer(
+            AuditEventJdbcWriter auditEventJdbcWriter,
+            AuditEventBulkLoader auditEventBulkLoader,
+            PlatformTransactionManager transactionManager,
+            ObjectProvider<RecentIdempotencyKeyFilter> idempotencyPreFilter,
+            ObjectProvider<AuditSpillLog> auditSpillLog,
+            AuditConnectorProperties properties
+    ) {
+        return new AuditWriteBehindBuffer(
+                auditEventJdbcWriter,
+                auditEventBulkLoader,
+                new TransactionTemplate(transactionManager),
+                idempotencyPreFilter.getIfAvailable(),
+                auditSpillLog.getIfAvailable(),
+                properties
+        );
     }
 
     @Bean
@@ -72,23 +165,104 @@ public class AuditConnectorAutoConfiguration {
     @ConditionalOnBean(KafkaTemplate.class)
     public AuditPublisher kafkaAuditPublisher(
             KafkaTemplate<String, String> kafkaTemplate,
+            ObjectProvider<AuditKafkaByteTemplate> auditKafkaByteTemplate,
             IdempotencyKeyFactory idempotencyKeyFactory,
             AuditConnectorProperties properties,
-            @Qualifier("auditXAsyncTaskExecutor") AsyncTaskExecutor auditXAsyncTaskExecutor
+            @Qualifier("auditXAsyncTaskExecutor") AsyncTaskExecutor auditXAsyncTaskExecutor,
+            ObjectProvider<RecentIdempotencyKeyFilter> idempotencyPreFilter,
+            KafkaPublishFailureHandler kafkaPublishFailureHandler
     ) {
-        return new KafkaAuditPublisher(
-                kafkaTemplate,
+        KafkaPayloadFormat payloadFormat = properties.getKafka().getPayloadFormat();
+        if (payloadFormat == KafkaPayloadFormat.JSON_STRING) {
+            return new KafkaAuditPublisher<>(
+                    kafkaTemplate,
+                    KafkaPayloadEncoder.jsonString(AuditJson.mapper()),
+                    idempotencyKeyFactory,
+                    properties,
+                    auditXAsyncTaskExecutor,
+                    idempotencyPreFilter.getIfAvailable(),
+                    kafkaPublishFailureHandler
+            );
+        }
+        return new KafkaAuditPublisher<>(
+                auditKafkaByteTemplate.getObject().template(),
+                KafkaPayloadEncoder.bytes(payloadFormat),
                 idempotencyKeyFactory,
                 properties,
                 auditXAsyncTaskExecutor,
-                new ObjectMapper()
+                idempotencyPreFilter.getIfAvailable(),
+                kafkaPublishFailureHandler
         );
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public AsyncTaskExecutor auditXAsyncTaskExecutor() {
-        return new SimpleAsyncTaskExecutor("auditx-jpa-publisher-");
+    @ConditionalOnProperty(prefix = "audit.connector", name = "publisher-type", havingValue = "KAFKA")
+    @ConditionalOnClass(KafkaTemplate.class)
+    @ConditionalOnBean(KafkaTemplate.class)
+    public AuditKafkaByteTemplate auditKafkaByteTemplate(KafkaTemplate<String, String> kafkaTemplate) {
+        return new AuditKafkaByteTemplate(kafkaTemplate.getProducerFactory());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "audit.connector", name = "publisher-type", havingValue = "KAFKA")
+    public KafkaPublishFailureHandler kafkaPublishFailureHandler(ObjectProvider<AuditSpillLog> auditSpillLog) {
+        AuditSpillLog spillLog = auditSpillLog.getIfAvailable();
+        if (spillLog != null) {
+            return new SpillingKafkaPublishFailureHandler(spillLog, new LoggingKafkaPublishFailureHandler());
+        }
+        return new LoggingKafkaPublishFailureHandler();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "audit.connector.spill", name = "enabled", havingValue = "true")
+    public AuditSpillLog auditSpillLog(AuditConnectorProperties properties) {
+        return new AuditSpillLog(properties.getSpill(), AuditJson.mapper());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "audit.connector.spill", name = "enabled", havingValue = "true")
+    public AuditSpillReplayer auditSpillReplayer(
+            AuditSpillLog auditSpillLog,
+            AuditPublisher auditPublisher,
+            AuditConnectorProperties properties
+    ) {
+        return new AuditSpillReplayer(auditSpillLog, auditPublisher, properties.getSpill());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @Conditional(AsyncDbPublisherCondition.class)
+    @ConditionalOnProperty(prefix = "audit.connector.kafka-sink", name = "enabled", havingValue = "true")
+    @ConditionalOnClass(KafkaTemplate.class)
+    @ConditionalOnBean(ConsumerFactory.class)
+    public AuditKafkaSink auditKafkaSink(
+            ConsumerFactory<?, ?> consumerFactory,
+            AuditEventBulkLoader auditEventBulkLoader,
+            IdempotencyKeyFactory idempotencyKeyFactory,
+            AuditConnectorProperties properties
+    ) {
+        return new AuditKafkaSink(consumerFactory, auditEventBulkLoader, idempotencyKeyFactory, properties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "audit.connector.idempotency-pre-filter", name = "enabled", havingValue = "true")
+    public RecentIdempotencyKeyFilter recentIdempotencyKeyFilter(AuditConnectorProperties properties) {
+        return new RecentIdempotencyKeyFilter(properties.getIdempotencyPreFilter());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AsyncTaskExecutor auditXAsyncTaskExecutor(
+            AuditConnectorProperties properties,
+            ObjectProvider<AuditSpillLog> auditSpillLog
+    ) {
+        AuditSpillLog spillLog = auditSpillLog.getIfAvailable();
+        return new BoundedAuditTaskExecutor(properties.getAsyncExecutor(), spillLog == null ? null : spillLog::append);
     }
 
     @Bean
@@ -117,9 +291,42 @@ public class AuditConnectorAutoConfiguration {
     public AuditOutboxDrainService auditOutboxDrainService(
             JdbcTemplate jdbcTemplate,
             AuditService auditService,
+            AuditConnectorProperties properties,
+            ObjectProvider<AuditPublisher> auditPublisher,
+            ObjectProvider<AuditEventJdbcWriter> auditEventJdbcWriter
+    ) {
+        AuditPublisher publisher = auditPublisher.getIfAvailable();
+        KafkaAuditPublisher<?> kafkaPublisher = publisher instanceof KafkaAuditPublisher<?> kafka ? kafka : null;
+        // the in-database transfer writes the table JpaAuditPublisher writes, so it is only offered alongside it
+        AuditEventJdbcWriter eventWriter = publisher instanceof JpaAuditPublisher ? auditEventJdbcWriter.getIfAvailable() : null;
+        return new AuditOutboxDrainService(jdbcTemplate, auditService, properties, kafkaPublisher, eventWriter);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "audit.connector.outbox-drain.partitioning", name = "enabled", havingValue = "true")
+    @ConditionalOnBean(JdbcTemplate.class)
+    public AuditOutboxPartitionMaintainer auditOutboxPartitionMaintainer(
+            JdbcTemplate jdbcTemplate,
+            AuditConnectorProperties properties
+    ) {
+        return new AuditOutboxPartitionMaintainer(jdbcTemplate, properties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "audit.connector.outbox-drain.continuous", name = "enabled", havingValue = "true")
+    @ConditionalOnBean(AuditOutboxDrainService.class)
+    public AuditOutboxContinuousDrainer auditOutboxContinuousDrainer(
+            AuditOutboxDrainService outboxDrainService,
+            JdbcTemplate jdbcTemplate,
             AuditConnectorProperties properties
     ) {
-        return new AuditOutboxDrainService(jdbcTemplate, auditService, properties);
+        return new AuditOutboxContinuousDrainer(
+                outboxDrainService,
+                jdbcTemplate.getDataSource(),
+                properties.getOutboxDrain().getContinuous()
+        );
     }
 
     @Bean
@@ -1,9 +1,15 @@
 package com.github.salilvnair.auditx.starter.config;
 
+import com.github.salilvnair.auditx.core.persistence.AuditStorageProfile;
+import com.github.salilvnair.auditx.core.service.IdempotencyHashAlgorithm;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
 @ConfigurationProperties(prefix = "audit.connector")
 @Getter
 @Setter
@@ -13,14 +19,30 @@ public class AuditConnectorProperties {
     private boolean asyncJpaPublish = true;
     private boolean asyncKafkaPublish = true;
     private AuditPublisherType publisherType = AuditPublisherType.ASYNC_DB;
+    private AuditStorageProfile storageProfile = AuditStorageProfile.FULL;
     private Kafka kafka = new Kafka();
     private OutboxDrain outboxDrain = new OutboxDrain();
+    private WriteBehind writeBehind = new WriteBehind();
+    private AsyncExecutor asyncExecutor = new AsyncExecutor();
+    private IdempotencyPreFilter idempotencyPreFilter = new IdempotencyPreFilter();
+    private BulkLoad bulkLoad = new BulkLoad();
+    private IdempotencyKey idempotencyKey = new IdempotencyKey();
+    private Spill spill = new Spill();
+    private KafkaSink kafkaSink = new KafkaSink();
 
     @Getter
     @Setter
     public static class Kafka {
         private String topic = "auditx.events";
         private KafkaMessageKeyType messageKeyType = KafkaMessageKeyType.IDEMPOTENCY_KEY;
+        private KafkaSendMode sendMode = KafkaSendMode.EXECUTOR;
+        private KafkaPayloadFormat payloadFormat = KafkaPayloadFormat.JSON_STRING;
+        private List<KafkaHeaderField> headers = new ArrayList<>();
+        private int maxInFlight = 1000;
+        private long permitTimeoutMs = 1000;
+        private int maxRetries = 3;
+        private long retryBackoffMs = 200;
+        private long syncSendTimeoutMs = 10000;
     }
 
     @Getter
@@ -32,5 +54,118 @@ public class AuditConnectorProperties {
         private int maxBatchesPerCall = 5;
         private int maxRetryDelaySeconds = 300;
         private String workerId = "auditx-outbox-drainer";
+        private int leaseSeconds = 300;
+        private OutboxDrainMode mode = OutboxDrainMode.PER_RECORD;
+        private int workers = 1;
+        private int maxWorkers = 16;
+        private boolean virtualThreads = false;
+        private ContinuousDrain continuous = new ContinuousDrain();
+        private OutboxPartitioning partitioning = new OutboxPartitioning();
+        private AdaptiveBatch adaptive = new AdaptiveBatch();
+    }
+
+    @Getter
+    @Setter
+    public static class AdaptiveBatch {
+        private boolean enabled = false;
+        private int minBatchSize = 10;
+        private int maxBatchSize = 2000;
+        private long targetBatchMs = 500;
+        private double maxFailureRate = 0.2;
+    }
+
+    @Getter
+    @Setter
+    public static class OutboxPartitioning {
+        private boolean enabled = false;
+        private int premakeDays = 3;
+        private int retentionDays = 7;
+        private boolean retainDeadLetters = true;
+        private boolean detachOnly = false;
+        private long intervalMinutes = 60;
+    }
+
+    @Getter
+    @Setter
+    public static class ContinuousDrain {
+        private boolean enabled = false;
+        private boolean listen = true;
+        private String channel = "auditx_outbox";
+        private long minPollMs = 100;
+        private long maxPollMs = 30000;
+    }
+
+    @Getter
+    @Setter
+    public static class WriteBehind {
+        private boolean enabled = false;
+        private int bufferCapacity = 10000;
+        private int flushSize = 500;
+        private long flushIntervalMs = 20;
+        private long shutdownFlushDeadlineMs = 5000;
+        private boolean useBulkLoader = false;
+    }
+
+    @Getter
+    @Setter
+    public static class AsyncExecutor {
+        private int workers = 8;
+        private int queueCapacity = 10000;
+        private AuditOverflowPolicy overflowPolicy = AuditOverflowPolicy.BLOCK;
+        private long blockTimeoutMs = 100;
+        private boolean virtualThreads = false;
+        private long shutdownDeadlineMs = 5000;
+    }
+
+    @Getter
+    @Setter
+    public static class IdempotencyPreFilter {
+        private boolean enabled = false;
+        private long windowSeconds = 600;
+        private int lruMaxEntries = 100000;
+        private long bloomExpectedInsertions = 1000000;
+        private double bloomFalsePositiveRate = 0.01;
+        private long bloomMaxBytes = 4 * 1024 * 1024;
+    }
+
+    @Getter
+    @Setter
+    public static class BulkLoad {
+        private AuditCopyFormat copyFormat = AuditCopyFormat.CSV;
+    }
+
+    @Getter
+    @Setter
+    public static class IdempotencyKey {
+        private IdempotencyHashAlgorithm algorithm = IdempotencyHashAlgorithm.SHA_256;
+        private IdempotencyKeyStorage storage = IdempotencyKeyStorage.HEX;
+    }
+
+    @Getter
+    @Setter
+    public static class Spill {
+        private boolean enabled = false;
+        private String directory = Path.of(System.getProperty("java.io.tmpdir"), "auditx-spill").toString();
+        private int segmentBytes = 16 * 1024 * 1024;
+        private long maxDiskBytes = 512L * 1024 * 1024;
+        private boolean forceOnAppend = false;
+        private int replayRatePerSecond = 500;
+        private long replayBackoffMs = 1000;
+        private long maxReplayBackoffMs = 30000;
+        private long idlePollMs = 500;
+    }
+
+    @Getter
+    @Setter
+    public static class KafkaSink {
+        private boolean enabled = false;
+        private String topic;
+        private String groupId = "auditx-sink";
+        private int concurrency = 1;
+        private int maxPollRecords = 500;
+        private KafkaPayloadFormat payloadFormat = KafkaPayloadFormat.JSON_STRING;
+        private long retryBackoffMs = 1000;
+        private long maxRetryBackoffMs = 30000;
+        private int maxWriteRetries = 3;
     }
 }
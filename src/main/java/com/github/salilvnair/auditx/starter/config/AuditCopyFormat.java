@@ -0,0 +1,6 @@
+package com.github.salilvnair.auditx.starter.config;
+
+public enum AuditCopyFormat {
+    CSV,
+    BINARY
+}
@@ -0,0 +1,8 @@
+package com.github.salilvnair.auditx.starter.config;
+
+public enum AuditOverflowPolicy {
+    BLOCK,
+    DROP_NEWEST,
+    DROP_LOWEST_SEVERITY,
+    CALLER_RUNS
+}
@@ -11,9 +11,21 @@ import java.util.Map;
 @Setter
 @ConfigurationProperties(prefix = "auditx.entity")
 public class AuditxEntityConfig {
+    public static final String EVENT_TABLE_KEY = "EVENT";
+    public static final String DEFAULT_EVENT_TABLE = "AUDITX_EVENT";
+
     /**
      * Example:
      * auditx.entity.tables.EVENT=custom_audit_event_table
      */
     private Map<String, String> tables = new HashMap<>();
+
+    /**
+     * Physical event table name, resolved the same way as {@code AuditxPhysicalNamingStrategy} so plain JDBC
+     * writers target the table Hibernate maps.
+     */
+    public String eventTableName() {
+        String tableName = tables.get(EVENT_TABLE_KEY);
+        return tableName == null || tableName.isBlank() ? DEFAULT_EVENT_TABLE : tableName;
+    }
 }
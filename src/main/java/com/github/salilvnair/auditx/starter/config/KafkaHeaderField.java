@@ -0,0 +1,27 @@
+package com.github.salilvnair.auditx.starter.config;
+
+/**
+ * Envelope fields that can be copied into Kafka record headers, with their header names.
+ */
+public enum KafkaHeaderField {
+    EVENT_TYPE("auditx-event-type"),
+    SEVERITY("auditx-severity"),
+    SOURCE("auditx-source"),
+    CONVERSATION_ID("auditx-conversation-id"),
+    INTERACTION_ID("auditx-interaction-id"),
+    GROUP_ID("auditx-group-id"),
+    TRACE_ID("auditx-trace-id"),
+    SERVICE_NAME("auditx-service-name"),
+    ENVIRONMENT("auditx-environment"),
+    IDEMPOTENCY_KEY("auditx-idempotency-key");
+
+    private final String headerName;
+
+    KafkaHeaderField(String headerName) {
+        this.headerName = headerName;
+    }
+
+    public String headerName() {
+        return headerName;
+    }
+}
@@ -0,0 +1,8 @@
+package com.github.salilvnair.auditx.starter.config;
+
+public enum KafkaPayloadFormat {
+    JSON_STRING,
+    JSON,
+    SMILE,
+    CBOR
+}
@@ -0,0 +1,7 @@
+package com.github.salilvnair.auditx.starter.config;
+
+public enum OutboxDrainMode {
+    PER_RECORD,
+    KAFKA_BATCH,
+    IN_DATABASE
+}
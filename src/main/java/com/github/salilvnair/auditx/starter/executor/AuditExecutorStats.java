@@ -0,0 +1,17 @@
+package com.github.salilvnair.auditx.starter.executor;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class AuditExecutorStats {
+    int queued;
+    int active;
+    long submitted;
+    long completed;
+    long rejected;
+    long dropped;
+    long callerRuns;
+    long spilled;
+}
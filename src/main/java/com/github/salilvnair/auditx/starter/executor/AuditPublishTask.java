@@ -0,0 +1,25 @@
+package com.github.salilvnair.auditx.starter.executor;
+
+import com.github.salilvnair.auditx.core.model.AuditSeverity;
+import com.github.salilvnair.auditx.core.model.CanonicalAuditEnvelope;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Publish work item that keeps its envelope visible to the executor so overflow policies can rank and report it.
+ */
+@Getter
+@RequiredArgsConstructor
+public class AuditPublishTask implements Runnable {
+    private final CanonicalAuditEnvelope envelope;
+    private final Runnable action;
+
+    public AuditSeverity severity() {
+        return envelope.getSeverity() == null ? AuditSeverity.INFO : envelope.getSeverity();
+    }
+
+    @Override
+    public void run() {
+        action.run();
+    }
+}
@@ -0,0 +1,203 @@
+package com.github.salilvnair.auditx.starter.executor;
+
+import com.github.salilvnair.auditx.core.model.AuditSeverity;
+import com.github.salilvnair.auditx.core.model.CanonicalAuditEnvelope;
+import com.github.salilvnair.auditx.starter.config.AuditConnectorProperties;
+import com.github.salilvnair.auditx.starter.config.AuditOverflowPolicy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Bounded audit publish executor: fixed worker count, bounded queue and a configurable overflow policy.
+ * Workers may run on virtual threads (Java 21+). Events the policy drops are offered to an optional overflow sink
+ * (the spill log) before they are counted as lost.
+ */
+@Slf4j
+public class BoundedAuditTaskExecutor implements AsyncTaskExecutor, SmartLifecycle {
+    private static final String THREAD_NAME_PREFIX = "auditx-publisher-";
+
+    private final AuditOverflowPolicy overflowPolicy;
+    private final long blockTimeoutMs;
+    private final long shutdownDeadlineMs;
+    private final BlockingQueue<Runnable> queue;
+    private final ThreadPoolExecutor pool;
+    private final Predicate<CanonicalAuditEnvelope> overflowSink;
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong callerRuns = new AtomicLong();
+    private final AtomicLong spilled = new AtomicLong();
+
+    public BoundedAuditTaskExecutor(AuditConnectorProperties.AsyncExecutor config) {
+        this(config, null);
+    }
+
+    /**
+     * @param overflowSink takes dropped events, returns false when it could not keep them; may be null
+     */
+    public BoundedAuditTaskExecutor(AuditConnectorProperties.AsyncExecutor config, Predicate<CanonicalAuditEnvelope> overflowSink) {
+        this.overflowSink = overflowSink;
+        int workers = Math.max(1, config.getWorkers());
+        this.overflowPolicy = config.getOverflowPolicy() == null ? AuditOverflowPolicy.BLOCK : config.getOverflowPolicy();
+        this.blockTimeoutMs = Math.max(0, config.getBlockTimeoutMs());
+        this.shutdownDeadlineMs = Math.max(0, config.getShutdownDeadlineMs());
+        this.queue = new LinkedBlockingQueue<>(Math.max(1, config.getQueueCapacity()));
+        this.pool = new ThreadPoolExecutor(
+                workers,
+                workers,
+                60,
+                TimeUnit.SECONDS,
+                queue,
+                threadFactory(config.isVirtualThreads()),
+                (task, executor) -> onOverflow(task)
+        );
+        this.pool.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        submitted.incrementAndGet();
+        pool.execute(task);
+    }
+
+    public AuditExecutorStats stats() {
+        return AuditExecutorStats.builder()
+                .queued(queue.size())
+                .active(pool.getActiveCount())
+                .submitted(submitted.get())
+                .completed(pool.getCompletedTaskCount())
+                .rejected(rejected.get())
+                .dropped(dropped.get())
+                .callerRuns(callerRuns.get())
+                .spilled(spilled.get())
+                .build();
+    }
+
+    @Override
+    public void start() {
+        // workers are started lazily by the pool
+    }
+
+    @Override
+    public void stop() {
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(shutdownDeadlineMs, TimeUnit.MILLISECONDS)) {
+                log.warn("Audit executor shutdown deadline of {} ms exceeded, {} queued events were not published",
+                        shutdownDeadlineMs, queue.size());
+                pool.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            pool.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return !pool.isShutdown();
+    }
+
+    private void onOverflow(Runnable task) {
+        if (pool.isShutdown()) {
+            rejected.incrementAndGet();
+            drop(task);
+            return;
+        }
+
+        switch (overflowPolicy) {
+            case CALLER_RUNS -> {
+                callerRuns.incrementAndGet();
+                task.run();
+            }
+            case DROP_NEWEST -> {
+                rejected.incrementAndGet();
+                drop(task);
+            }
+            case DROP_LOWEST_SEVERITY -> dropLowestSeverity(task);
+            default -> blockWithTimeout(task);
+        }
+    }
+
+    private void blockWithTimeout(Runnable task) {
+        try {
+            if (queue.offer(task, blockTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        rejected.incrementAndGet();
+        drop(task);
+    }
+
+    private void dropLowestSeverity(Runnable task) {
+        AuditSeverity incoming = severity(task);
+        Runnable victim = null;
+        AuditSeverity victimSeverity = incoming;
+        for (Runnable queued : queue) {
+            AuditSeverity candidate = severity(queued);
+            if (candidate.compareTo(victimSeverity) < 0) {
+                victim = queued;
+                victimSeverity = candidate;
+                if (candidate == AuditSeverity.INFO) {
+                    break;
+                }
+            }
+        }
+
+        if (victim != null && queue.remove(victim)) {
+            drop(victim);
+            if (queue.offer(task)) {
+                return;
+            }
+        }
+        rejected.incrementAndGet();
+        drop(task);
+    }
+
+    private void drop(Runnable task) {
+        if (task instanceof AuditPublishTask auditTask && overflowSink != null && overflowSink.test(auditTask.getEnvelope())) {
+            spilled.incrementAndGet();
+            return;
+        }
+        long total = dropped.incrementAndGet();
+        if (task instanceof AuditPublishTask auditTask) {
+            log.warn(
+                    "Audit executor overflow, event dropped. policy={}, eventType={}, severity={}, conversationId={}, droppedCount={}",
+                    overflowPolicy,
+                    auditTask.getEnvelope().getEventType(),
+                    auditTask.severity(),
+                    auditTask.getEnvelope().getConversationId(),
+                    total
+            );
+            return;
+        }
+        log.warn("Audit executor overflow, task dropped. policy={}, droppedCount={}", overflowPolicy, total);
+    }
+
+    private AuditSeverity severity(Runnable task) {
+        return task instanceof AuditPublishTask auditTask ? auditTask.severity() : AuditSeverity.INFO;
+    }
+
+    private static ThreadFactory threadFactory(boolean virtualThreads) {
+        if (virtualThreads) {
+            return new VirtualThreadTaskExecutor(THREAD_NAME_PREFIX).getVirtualThreadFactory();
+        }
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(THREAD_NAME_PREFIX);
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+}
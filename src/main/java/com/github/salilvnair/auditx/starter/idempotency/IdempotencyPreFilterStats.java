@@ -0,0 +1,18 @@
+package com.github.salilvnair.auditx.starter.idempotency;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class IdempotencyPreFilterStats {
+    long checks;
+    long duplicateHits;
+    long bloomPositives;
+    int lruEntries;
+    long bloomBytes;
+
+    public double hitRate() {
+        return checks == 0 ? 0d : (double) duplicateHits / checks;
+    }
+}
@@ -0,0 +1,125 @@
+package com.github.salilvnair.auditx.starter.idempotency;
+
+import com.github.salilvnair.auditx.starter.config.AuditConnectorProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process idempotency pre-filter shared by the publishers.
+ * A time-rotated Bloom filter answers "definitely new" without locking; only Bloom positives consult a
+ * bounded, sharded LRU of recently written keys. An LRU hit is a certain duplicate and is rejected without I/O,
+ * everything else still goes to the sink, which stays the source of truth.
+ */
+public class RecentIdempotencyKeyFilter {
+    private static final int SHARDS = 16;
+
+    private final RotatingBloomFilter bloomFilter;
+    private final LruShard[] shards = new LruShard[SHARDS];
+    private final long ttlNanos;
+
+    private final AtomicLong checks = new AtomicLong();
+    private final AtomicLong duplicateHits = new AtomicLong();
+    private final AtomicLong bloomPositives = new AtomicLong();
+
+    public RecentIdempotencyKeyFilter(AuditConnectorProperties.IdempotencyPreFilter config) {
+        long windowMillis = Math.max(1, config.getWindowSeconds()) * 1000L;
+        this.bloomFilter = new RotatingBloomFilter(
+                Math.max(1, config.getBloomExpectedInsertions()),
+                config.getBloomFalsePositiveRate() > 0 && config.getBloomFalsePositiveRate() < 1
+                        ? config.getBloomFalsePositiveRate()
+                        : 0.01d,
+                config.getBloomMaxBytes(),
+                windowMillis
+        );
+        this.ttlNanos = windowMillis * 1_000_000L;
+        int perShard = Math.max(1, config.getLruMaxEntries() / SHARDS);
+        for (int i = 0; i < SHARDS; i++) {
+            shards[i] = new LruShard(perShard);
+        }
+    }
+
+    /**
+     * @return true only when the key was written recently by this node
+     */
+    public boolean isRecentDuplicate(String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return false;
+        }
+        checks.incrementAndGet();
+        if (!bloomFilter.mightContain(idempotencyKey)) {
+            return false;
+        }
+        bloomPositives.incrementAndGet();
+
+        if (shard(idempotencyKey).containsFresh(idempotencyKey, System.nanoTime(), ttlNanos)) {
+            duplicateHits.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Records a key once the sink has accepted it (or reported it as a duplicate).
+     */
+    public void remember(String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return;
+        }
+        bloomFilter.put(idempotencyKey);
+        shard(idempotencyKey).put(idempotencyKey, System.nanoTime());
+    }
+
+    public IdempotencyPreFilterStats stats() {
+        int entries = 0;
+        for (LruShard shard : shards) {
+            entries += shard.size();
+        }
+        return IdempotencyPreFilterStats.builder()
+                .checks(checks.get())
+                .duplicateHits(duplicateHits.get())
+                .bloomPositives(bloomPositives.get())
+                .lruEntries(entries)
+                .bloomBytes(bloomFilter.sizeInBytes())
+                .build();
+    }
+
+    private LruShard shard(String key) {
+        int h = key.hashCode();
+        return shards[(h ^ (h >>> 16)) & (SHARDS - 1)];
+    }
+
+    private static final class LruShard {
+        private final Map<String, Long> entries;
+
+        private LruShard(int maxEntries) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+
+        private synchronized boolean containsFresh(String key, long now, long ttlNanos) {
+            Long writtenAt = entries.get(key);
+            if (writtenAt == null) {
+                return false;
+            }
+            if (now - writtenAt > ttlNanos) {
+                entries.remove(key);
+                return false;
+            }
+            return true;
+        }
+
+        private synchronized void put(String key, long now) {
+            entries.put(key, now);
+        }
+
+        private synchronized int size() {
+            return entries.size();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.github.salilvnair.auditx.starter.idempotency;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter with two time-rotated generations.
+ * A key stays visible for at least one and at most two rotation windows.
+ */
+class RotatingBloomFilter {
+    private final int bitCount;
+    private final int hashFunctions;
+    private final long windowNanos;
+
+    private volatile AtomicLongArray current;
+    private volatile AtomicLongArray previous;
+    private volatile long rotatedAtNanos;
+
+    RotatingBloomFilter(long expectedInsertions, double falsePositiveRate, long maxBytes, long windowMillis) {
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        // both generations live at once, so each one gets half of the memory cap
+        long cappedBits = Math.min(optimalBits, Math.max(64, maxBytes * 8 / 2));
+        this.bitCount = (int) Math.min(Integer.MAX_VALUE - 63L, Math.max(64, cappedBits));
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / Math.max(1, expectedInsertions) * Math.log(2)));
+        this.windowNanos = Math.max(1, windowMillis) * 1_000_000L;
+        this.current = newBits();
+        this.previous = newBits();
+        this.rotatedAtNanos = System.nanoTime();
+    }
+
+    boolean mightContain(String key) {
+        rotateIfDue();
+        long h1 = hash(key, 0x9E3779B97F4A7C15L);
+        long h2 = hash(key, 0xC2B2AE3D27D4EB4FL) | 1L;
+        return contains(current, h1, h2) || contains(previous, h1, h2);
+    }
+
+    void put(String key) {
+        rotateIfDue();
+        long h1 = hash(key, 0x9E3779B97F4A7C15L);
+        long h2 = hash(key, 0xC2B2AE3D27D4EB4FL) | 1L;
+        AtomicLongArray bits = current;
+        for (int i = 0; i < hashFunctions; i++) {
+            int index = index(h1 + i * h2);
+            int word = index >>> 6;
+            long mask = 1L << (index & 63);
+            long value = bits.get(word);
+            while ((value & mask) == 0 && !bits.compareAndSet(word, value, value | mask)) {
+                value = bits.get(word);
+            }
+        }
+    }
+
+    long sizeInBytes() {
+        return 2L * ((bitCount + 63) / 64) * Long.BYTES;
+    }
+
+    private boolean contains(AtomicLongArray bits, long h1, long h2) {
+        for (int i = 0; i < hashFunctions; i++) {
+            int index = index(h1 + i * h2);
+            if ((bits.get(index >>> 6) & (1L << (index & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rotateIfDue() {
+        if (System.nanoTime() - rotatedAtNanos < windowNanos) {
+            return;
+        }
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (now - rotatedAtNanos < windowNanos) {
+                return;
+            }
+            previous = current;
+            current = newBits();
+            rotatedAtNanos = now;
+        }
+    }
+
+    private int index(long combinedHash) {
+        return (int) ((combinedHash & Long.MAX_VALUE) % bitCount);
+    }
+
+    private AtomicLongArray newBits() {
+        return new AtomicLongArray((bitCount + 63) / 64);
+    }
+
+    private static long hash(String key, long seed) {
+        long h = seed;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        // splitmix64 finalizer
+        h ^= h >>> 30;
+        h *= 0xBF58476D1CE4E5B9L;
+        h ^= h >>> 27;
+        h *= 0x94D049BB133111EBL;
+        h ^= h >>> 31;
+        return h;
+    }
+}
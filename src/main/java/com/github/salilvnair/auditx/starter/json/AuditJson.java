@@ -0,0 +1,32 @@
+package com.github.salilvnair.auditx.starter.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.cfg.MapperBuilder;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Shared, pre-configured Jackson mapper for AuditX internals.
+ * Kept out of the application context on purpose so it never replaces the consumer's own ObjectMapper.
+ */
+public final class AuditJson {
+    private static final ObjectMapper MAPPER = configure(JsonMapper.builder());
+
+    private AuditJson() {
+    }
+
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+
+    /**
+     * Applies the AuditX settings to any Jackson format builder (JSON, Smile, CBOR).
+     */
+    public static <M extends ObjectMapper, B extends MapperBuilder<M, B>> M configure(B builder) {
+        return builder
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+}
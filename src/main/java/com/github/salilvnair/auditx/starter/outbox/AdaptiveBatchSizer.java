@@ -0,0 +1,58 @@
+package com.github.salilvnair.auditx.starter.outbox;
+
+import com.github.salilvnair.auditx.starter.config.AuditConnectorProperties;
+
+/**
+ * Picks the claim size for the next outbox batch from how the previous ones went, within
+ * {@code [min-batch-size, max-batch-size]}.
+ * <p>
+ * A batch that ran longer than {@code target-batch-ms} shrinks the size in proportion, a full batch that finished
+ * early grows it (at most doubling), a failure rate above {@code max-failure-rate} halves it, and a short claim
+ * (backlog drained) keeps it as it is. Shared by all workers and kept across drain calls.
+ */
+public class AdaptiveBatchSizer {
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final long targetBatchMs;
+    private final double maxFailureRate;
+    private int batchSize;
+
+    public AdaptiveBatchSizer(AuditConnectorProperties.AdaptiveBatch config, int initialBatchSize) {
+        this.minBatchSize = Math.max(1, config.getMinBatchSize());
+        this.maxBatchSize = Math.max(minBatchSize, config.getMaxBatchSize());
+        this.targetBatchMs = Math.max(1, config.getTargetBatchMs());
+        this.maxFailureRate = config.getMaxFailureRate();
+        this.batchSize = clamp(initialBatchSize);
+    }
+
+    public synchronized int nextBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @param requested claim size the batch was run with
+     * @param claimed   rows the claim returned
+     * @param failed    rows that went back to retry or DEAD_LETTER
+     * @param claimMs   time spent claiming
+     * @param publishMs time spent publishing and recording the outcome
+     */
+    public synchronized void record(int requested, int claimed, int failed, long claimMs, long publishMs) {
+        if (claimed == 0) {
+            return;
+        }
+        long elapsedMs = Math.max(1, claimMs + publishMs);
+        int next = batchSize;
+        if ((double) failed / claimed > maxFailureRate) {
+            next = requested / 2;
+        } else if (elapsedMs > targetBatchMs * 5 / 4) {
+            next = (int) (requested * targetBatchMs / elapsedMs);
+        } else if (claimed >= requested && elapsedMs < targetBatchMs * 3 / 4) {
+            next = (int) Math.min((long) requested * 2, requested * targetBatchMs / elapsedMs);
+        }
+        batchSize = clamp(next);
+    }
+
+    private int clamp(int size) {
+        return Math.max(minBatchSize, Math.min(maxBatchSize, size));
+    }
+}
@@ -0,0 +1,174 @@
+package com.github.salilvnair.auditx.starter.outbox;
+
+import com.github.salilvnair.auditx.starter.config.AuditConnectorProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * In-process alternative to the cron-driven drain endpoint. A background thread drains whenever rows are claimed and
+ * otherwise waits on a PostgreSQL {@code LISTEN} channel that {@code auditx_enqueue} notifies. The wait doubles from
+ * {@code min-poll-ms} to {@code max-poll-ms} while the outbox stays empty, so a missed or unsupported notification
+ * only delays the next drain. Without the PostgreSQL driver it just polls.
+ */
+@Slf4j
+public class AuditOutboxContinuousDrainer implements SmartLifecycle {
+    private static final Pattern CHANNEL_PATTERN = Pattern.compile("^[a-zA-Z_][a-zA-Z0-9_]*$");
+    private static final boolean PG_DRIVER_PRESENT =
+            ClassUtils.isPresent("org.postgresql.PGConnection", AuditOutboxContinuousDrainer.class.getClassLoader());
+    private static final long MAX_WAIT_SLICE_MS = 1000;
+
+    private final AuditOutboxDrainService drainService;
+    private final DataSource dataSource;
+    private final boolean listen;
+    private final String channel;
+    private final long minPollMs;
+    private final long maxPollMs;
+
+    private volatile boolean running;
+    private Thread drainer;
+    private PgOutboxNotificationListener listener;
+    private boolean listenUnsupported;
+
+    public AuditOutboxContinuousDrainer(
+            AuditOutboxDrainService drainService,
+            DataSource dataSource,
+            AuditConnectorProperties.ContinuousDrain config
+    ) {
+        if (config.getChannel() == null || !CHANNEL_PATTERN.matcher(config.getChannel()).matches()) {
+            throw new IllegalArgumentException("Invalid outbox notification channel: " + config.getChannel());
+        }
+        this.drainService = drainService;
+        this.dataSource = dataSource;
+        this.listen = config.isListen() && PG_DRIVER_PRESENT && dataSource != null;
+        this.channel = config.getChannel();
+        this.minPollMs = Math.max(1, config.getMinPollMs());
+        this.maxPollMs = Math.max(minPollMs, config.getMaxPollMs());
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        drainer = new Thread(this::drainLoop, "auditx-outbox-drainer");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (drainer != null) {
+            drainer.interrupt();
+            try {
+                drainer.join(MAX_WAIT_SLICE_MS * 5);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            drainer = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void drainLoop() {
+        long pollMs = minPollMs;
+        try {
+            while (running) {
+                boolean claimed;
+                try {
+                    claimed = drainService.drain(null, null).getClaimedCount() > 0;
+                } catch (Exception ex) {
+                    log.warn("Continuous audit outbox drain failed, retrying in {} ms", pollMs, ex);
+                    claimed = false;
+                }
+
+                if (claimed) {
+                    // rows may be left behind the per-call batch budget: go again without waiting
+                    pollMs = minPollMs;
+                    continue;
+                }
+                if (awaitNotification(pollMs)) {
+                    pollMs = minPollMs;
+                } else {
+                    pollMs = Math.min(pollMs * 2, maxPollMs);
+                }
+            }
+        } finally {
+            closeListener();
+        }
+    }
+
+    /**
+     * @return true when woken by a notification, false when the poll interval elapsed
+     */
+    private boolean awaitNotification(long timeoutMs) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        PgOutboxNotificationListener current = listener();
+        while (running) {
+            long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMs <= 0) {
+                return false;
+            }
+            long sliceMs = Math.min(remainingMs, MAX_WAIT_SLICE_MS);
+            if (current == null) {
+                sleep(sliceMs);
+                continue;
+            }
+            try {
+                if (current.await(sliceMs)) {
+                    return true;
+                }
+            } catch (Exception ex) {
+                log.warn("Audit outbox LISTEN connection failed, polling until it is re-established", ex);
+                closeListener();
+                current = null;
+                sleep(sliceMs);
+            }
+        }
+        return false;
+    }
+
+    private PgOutboxNotificationListener listener() {
+        if (!listen || listenUnsupported) {
+            return null;
+        }
+        if (listener == null) {
+            try {
+                listener = PgOutboxNotificationListener.open(dataSource, channel);
+                if (listener == null) {
+                    listenUnsupported = true;
+                    log.info("Audit outbox data source is not PostgreSQL, continuous drain falls back to polling");
+                }
+            } catch (Exception ex) {
+                log.warn("Failed to LISTEN on audit outbox channel {}", channel, ex);
+            }
+        }
+        return listener;
+    }
+
+    private void closeListener() {
+        if (listener != null) {
+            listener.close();
+            listener = null;
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -1,24 +1,49 @@
 package com.github.salilvnair.auditx.starter.outbox;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.salilvnair.auditx.core.model.AuditSeverity;
 import com.github.salilvnair.auditx.core.model.AuditSource;
 import com.github.salilvnair.auditx.core.model.AuditWriteRequest;
 import com.github.salilvnair.auditx.core.model.CanonicalAuditEnvelope;
 import com.github.salilvnair.auditx.core.service.AuditService;
 import com.github.salilvnair.auditx.starter.config.AuditConnectorProperties;
+import com.github.salilvnair.auditx.starter.config.OutboxDrainMode;
+import com.github.salilvnair.auditx.starter.json.AuditJson;
+import com.github.salilvnair.auditx.starter.persistence.AuditEventJdbcWriter;
+import com.github.salilvnair.auditx.starter.provider.KafkaAuditPublisher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 
-import java.sql.ResultSet;
-import java.sql.SQLException;
-import java.util.Collections;
+import java.sql.Connection;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 
+/**
+ * Claims outbox rows in batches and hands them to the configured publisher.
+ * <p>
+ * {@link OutboxDrainMode#PER_RECORD} publishes one row at a time. {@link OutboxDrainMode#KAFKA_BATCH} sends the whole
+ * claimed batch to Kafka, flushes once and waits for the acks, so the producer can batch and delivery stays
+ * at-least-once. Either way the batch's outcomes are applied together: one statement marks the published rows SENT
+ * and one moves the failed rows to retry or DEAD_LETTER. {@link OutboxDrainMode#IN_DATABASE} skips the JVM and moves
+ * each batch into the audit event table with one statement (see {@link OutboxEventTransfer}); a batch that statement
+ * cannot take is drained row by row instead.
+ * <p>
+ * A claim is a lease of {@code lease-seconds}: each drain call first re-queues rows whose lease ran out. Every claim
+ * stamps its rows with its own {@code locked_at}, and status updates only touch rows still carrying that stamp, so a
+ * drainer that lost its lease cannot overwrite a later claim, even one made under the same worker id.
+ * <p>
+ * With {@code outbox-drain.adaptive.enabled} the claim size comes from an {@link AdaptiveBatchSizer} unless the caller
+ * passes an explicit batch size.
+ */
 @RequiredArgsConstructor
 @Slf4j
 public class AuditOutboxDrainService {
@@ -27,58 +52,252 @@ public class AuditOutboxDrainService {
     private final JdbcTemplate jdbcTemplate;
     private final AuditService auditService;
     private final AuditConnectorProperties properties;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final KafkaAuditPublisher<?> kafkaPublisher;
+    private final AuditEventJdbcWriter eventWriter;
+    private final OutboxRecordRowMapper rowMapper = new OutboxRecordRowMapper(AuditJson.mapper());
+    private AdaptiveBatchSizer adaptiveSizer;
+    private OutboxEventTransfer eventTransfer;
+    private SimpleAsyncTaskExecutor workerExecutor;
+
+    public AuditOutboxDrainService(JdbcTemplate jdbcTemplate, AuditService auditService, AuditConnectorProperties properties) {
+        this(jdbcTemplate, auditService, properties, null, null);
+    }
+
+    public AuditOutboxDrainService(JdbcTemplate jdbcTemplate, AuditService auditService, AuditConnectorProperties properties,
+                                   KafkaAuditPublisher<?> kafkaPublisher) {
+        this(jdbcTemplate, auditService, properties, kafkaPublisher, null);
+    }
 
     public OutboxDrainSummary drain(Integer maxBatchesOverride, Integer batchSizeOverride) {
+        return drain(maxBatchesOverride, batchSizeOverride, null);
+    }
+
+    /**
+     * With more than one worker each claims its own batches under {@code workerId-N} until the shared
+     * {@code maxBatches} budget is used up or nothing is left to claim. A single worker runs on the calling thread.
+     * The worker count is capped at {@code outbox-drain.max-workers}, which also bounds the worker threads (and so
+     * connections) of all concurrent calls together.
+     */
+    public OutboxDrainSummary drain(Integer maxBatchesOverride, Integer batchSizeOverride, Integer workersOverride) {
         long start = System.currentTimeMillis();
 
         int maxBatches = positiveOrDefault(maxBatchesOverride, properties.getOutboxDrain().getMaxBatchesPerCall());
         int batchSize = positiveOrDefault(batchSizeOverride, properties.getOutboxDrain().getBatchSize());
+        AdaptiveBatchSizer sizer = batchSizeOverride == null && properties.getOutboxDrain().getAdaptive().isEnabled()
+                ? adaptiveSizer()
+                : null;
+        int maxWorkers = Math.max(1, properties.getOutboxDrain().getMaxWorkers());
+        int requestedWorkers = positiveOrDefault(workersOverride, Math.max(1, properties.getOutboxDrain().getWorkers()));
+        if (requestedWorkers > maxWorkers) {
+            log.debug("Outbox drain workers {} capped at max-workers {}", requestedWorkers, maxWorkers);
+        }
+        int workers = Math.min(Math.min(requestedWorkers, maxWorkers), maxBatches);
+        OutboxDrainMode mode = resolveMode();
+        AtomicInteger batchBudget = new AtomicInteger(maxBatches);
+        String workerId = properties.getOutboxDrain().getWorkerId();
+        LeaseReclaim reclaimed = reclaimExpiredLeases();
+
+        List<OutboxWorkerSummary> summaries;
+        if (workers == 1) {
+            summaries = List.of(drainWorker(workerId, batchBudget, batchSize, sizer, mode));
+        } else {
+            SimpleAsyncTaskExecutor workerExecutor = workerExecutor();
+            List<CompletableFuture<OutboxWorkerSummary>> futures = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                String id = workerId + "-" + (i + 1);
+                futures.add(workerExecutor.submitCompletable(() -> drainWorkerSafely(id, batchBudget, batchSize, sizer, mode)));
+            }
+            summaries = new ArrayList<>(workers);
+            for (CompletableFuture<OutboxWorkerSummary> future : futures) {
+                summaries.add(future.join());
+            }
+        }
 
         int batchesProcessed = 0;
         int claimedCount = 0;
         int sentCount = 0;
         int failedCount = 0;
-        int deadLetterCount = 0;
+        int deadLetterCount = reclaimed.deadLettered();
+        for (OutboxWorkerSummary worker : summaries) {
+            batchesProcessed += worker.getBatchesProcessed();
+            claimedCount += worker.getClaimedCount();
+            sentCount += worker.getSentCount();
+            failedCount += worker.getFailedCount();
+            deadLetterCount += worker.getDeadLetterCount();
+        }
+
+        return OutboxDrainSummary.builder()
+                .batchesProcessed(batchesProcessed)
+                .claimedCount(claimedCount)
+                .sentCount(sentCount)
+                .failedCount(failedCount)
+                .deadLetterCount(deadLetterCount)
+                .leaseExpiredCount(reclaimed.expired())
+                .elapsedMs(System.currentTimeMillis() - start)
+                .workers(summaries)
+                .nextBatchSize(sizer == null ? null : sizer.nextBatchSize())
+                .build();
+    }
 
-        for (int batchNo = 0; batchNo < maxBatches; batchNo++) {
-            List<OutboxRecord> records = claimPendingBatch(batchSize);
-            if (records.isEmpty()) {
+    private synchronized AdaptiveBatchSizer adaptiveSizer() {
+        if (adaptiveSizer == null) {
+            adaptiveSizer = new AdaptiveBatchSizer(properties.getOutboxDrain().getAdaptive(), properties.getOutboxDrain().getBatchSize());
+        }
+        return adaptiveSizer;
+    }
+
+    private OutboxWorkerSummary drainWorkerSafely(String workerId, AtomicInteger batchBudget, int batchSize,
+                                                  AdaptiveBatchSizer sizer, OutboxDrainMode mode) {
+        long start = System.currentTimeMillis();
+        try {
+            return drainWorker(workerId, batchBudget, batchSize, sizer, mode);
+        } catch (Exception ex) {
+            log.error("Audit outbox drain worker {} failed", workerId, ex);
+            return OutboxWorkerSummary.builder()
+                    .workerId(workerId)
+                    .elapsedMs(System.currentTimeMillis() - start)
+                    .error(ex.getMessage())
+                    .build();
+        }
+    }
+
+    private OutboxWorkerSummary drainWorker(String workerId, AtomicInteger batchBudget, int batchSize,
+                                            AdaptiveBatchSizer sizer, OutboxDrainMode mode) {
+        long start = System.currentTimeMillis();
+
+        int batchesProcessed = 0;
+        int claimedCount = 0;
+        int sentCount = 0;
+        int failedCount = 0;
+        int deadLetterCount = 0;
+        List<Integer> batchSizes = new ArrayList<>();
+
+        while (batchBudget.getAndDecrement() > 0) {
+            int size = sizer == null ? batchSize : sizer.nextBatchSize();
+            long batchStart = System.nanoTime();
+            BatchResult batch = mode == OutboxDrainMode.IN_DATABASE
+                    ? transferBatch(size, workerId)
+                    : drainBatch(size, workerId, mode == OutboxDrainMode.KAFKA_BATCH);
+            if (batch.claimed() == 0) {
                 break;
             }
 
             batchesProcessed++;
-            claimedCount += records.size();
-
-            for (OutboxRecord record : records) {
-                try {
-                    publishRecord(record);
-                    markSent(record.getId());
-                    sentCount++;
-                } catch (Exception ex) {
-                    failedCount++;
-                    boolean deadLetter = markFailed(record, ex.getMessage());
-                    if (deadLetter) {
-                        deadLetterCount++;
-                    }
-                    log.error("Failed to drain audit outbox row id={}", record.getId(), ex);
-                }
+            claimedCount += batch.claimed();
+            sentCount += batch.sent();
+            failedCount += batch.failed();
+            deadLetterCount += batch.deadLettered();
+            batchSizes.add(size);
+
+            if (sizer != null) {
+                sizer.record(size, batch.claimed(), batch.failed(),
+                        TimeUnit.NANOSECONDS.toMillis(batch.claimNanos()),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - batchStart - batch.claimNanos()));
             }
         }
 
-        return OutboxDrainSummary.builder()
+        return OutboxWorkerSummary.builder()
+                .workerId(workerId)
                 .batchesProcessed(batchesProcessed)
                 .claimedCount(claimedCount)
                 .sentCount(sentCount)
                 .failedCount(failedCount)
                 .deadLetterCount(deadLetterCount)
                 .elapsedMs(System.currentTimeMillis() - start)
+                .batchSizes(batchSizes)
                 .build();
     }
 
-    private List<OutboxRecord> claimPendingBatch(int batchSize) {
+    private BatchResult drainBatch(int batchSize, String workerId, boolean kafkaBatch) {
+        long claimStart = System.nanoTime();
+        List<OutboxRecord> records = claimPendingBatch(batchSize, workerId);
+        long claimNanos = System.nanoTime() - claimStart;
+        if (records.isEmpty()) {
+            return new BatchResult(0, 0, 0, 0, claimNanos);
+        }
+
+        BatchOutcome outcome = kafkaBatch ? publishKafkaBatch(records) : publishEach(records);
+        OffsetDateTime claimedAt = records.get(0).getLockedAt();
+        markSent(outcome.sentIds, workerId, claimedAt);
+        int deadLettered = markFailed(outcome.failed, outcome.errors, workerId, claimedAt);
+        return new BatchResult(records.size(), outcome.sentIds.size(), outcome.failed.size(), deadLettered, claimNanos);
+    }
+
+    /**
+     * The statement rolls back as a whole, so when it fails (e.g. a malformed timestamp in one row) the batch is still
+     * PENDING and is drained through the publisher instead, where a bad row only fails itself.
+     */
+    private BatchResult transferBatch(int batchSize, String workerId) {
+        try {
+            OutboxEventTransfer.OutboxTransferResult result = eventTransfer().transfer(batchSize, workerId);
+            if (result.sent() > result.inserted()) {
+                log.debug("Skipped {} duplicate audit events while transferring the outbox", result.sent() - result.inserted());
+            }
+            return new BatchResult(result.claimed(), result.sent(), result.failed(), result.deadLettered(), 0);
+        } catch (DataAccessException ex) {
+            log.warn("In-database outbox transfer failed, draining the batch through the publisher. cause={}",
+                    ex.getMostSpecificCause().toString());
+            return drainBatch(batchSize, workerId, false);
+        }
+    }
+
+    private synchronized OutboxEventTransfer eventTransfer() {
+        if (eventTransfer == null) {
+            String table = validateTableName(properties.getOutboxDrain().getTable());
+            eventTransfer = new OutboxEventTransfer(jdbcTemplate, properties, table, eventWriter);
+        }
+        return eventTransfer;
+    }
+
+    /**
+     * Re-queues rows whose PROCESSING lease ran out (drainer crashed or the caller gave up) in one statement. Each
+     * expiry counts as an attempt, so a row that keeps killing its drainer ends up in DEAD_LETTER.
+     */
+    private LeaseReclaim reclaimExpiredLeases() {
+        int leaseSeconds = properties.getOutboxDrain().getLeaseSeconds();
+        if (leaseSeconds <= 0) {
+            return new LeaseReclaim(0, 0);
+        }
+
         String table = validateTableName(properties.getOutboxDrain().getTable());
+        String sql = """
+                WITH expired AS (
+                    UPDATE %s
+                    SET status = CASE
+                            WHEN retry_count + 1 >= CASE WHEN max_retries > 0 THEN max_retries ELSE 5 END THEN 'DEAD_LETTER'
+                            ELSE 'PENDING'
+                        END,
+                        retry_count = retry_count + 1,
+                        next_retry_at = now(),
+                        last_error = 'Lease expired while PROCESSING by ' || coalesce(worker_id, 'unknown worker'),
+                        worker_id = NULL,
+                        locked_at = NULL,
+                        updated_at = now()
+                    WHERE status = 'PROCESSING'
+                      AND locked_at < now() - (? * interval '1 second')
+                    RETURNING status
+                )
+                SELECT count(*) AS expired,
+                       count(*) FILTER (WHERE status = 'DEAD_LETTER') AS dead_lettered
+                FROM expired
+                """.formatted(table);
 
+        LeaseReclaim reclaimed = jdbcTemplate.queryForObject(
+                sql,
+                (rs, rowNum) -> new LeaseReclaim(rs.getInt("expired"), rs.getInt("dead_lettered")),
+                leaseSeconds
+        );
+        if (reclaimed != null && reclaimed.expired() > 0) {
+            log.warn("Reclaimed {} audit outbox rows with expired leases ({} moved to DEAD_LETTER)",
+                    reclaimed.expired(), reclaimed.deadLettered());
+        }
+        return reclaimed == null ? new LeaseReclaim(0, 0) : reclaimed;
+    }
+
+    private List<OutboxRecord> claimPendingBatch(int batchSize, String workerId) {
+        String table = validateTableName(properties.getOutboxDrain().getTable());
+
+        // the stamp identifies this claim: clock_timestamp() rather than the transaction's now(), read once for all rows
         String sql = """
                 WITH picked AS (
                     SELECT id
@@ -88,36 +307,114 @@ public class AuditOutboxDrainService {
                     ORDER BY created_at
                     FOR UPDATE SKIP LOCKED
                     LIMIT ?
+                ),
+                claim AS (
+                    SELECT clock_timestamp() AS locked_at
                 )
                 UPDATE %s o
                 SET status = 'PROCESSING',
                     worker_id = ?,
-                    locked_at = now(),
+                    locked_at = claim.locked_at,
                     updated_at = now()
-                FROM picked
+                FROM picked, claim
                 WHERE o.id = picked.id
                 RETURNING o.*
                 """.formatted(table, table);
 
         return jdbcTemplate.query(
                 sql,
-                (rs, rowNum) -> mapRecord(rs),
+                rowMapper,
                 batchSize,
-                properties.getOutboxDrain().getWorkerId()
+                workerId
         );
     }
 
+    private synchronized SimpleAsyncTaskExecutor workerExecutor() {
+        if (workerExecutor == null) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("auditx-outbox-drain-");
+            executor.setVirtualThreads(properties.getOutboxDrain().isVirtualThreads());
+            executor.setDaemon(true);
+            // shared by all drain calls: submits block once max-workers workers are running
+            executor.setConcurrencyLimit(Math.max(1, properties.getOutboxDrain().getMaxWorkers()));
+            workerExecutor = executor;
+        }
+        return workerExecutor;
+    }
+
+    private OutboxDrainMode resolveMode() {
+        OutboxDrainMode mode = properties.getOutboxDrain().getMode();
+        if (mode == OutboxDrainMode.KAFKA_BATCH && kafkaPublisher == null) {
+            throw new IllegalStateException("outbox-drain.mode=KAFKA_BATCH requires the KAFKA publisher");
+        }
+        if (mode == OutboxDrainMode.IN_DATABASE && eventWriter == null) {
+            throw new IllegalStateException("outbox-drain.mode=IN_DATABASE requires the ASYNC_DB publisher");
+        }
+        return mode == null ? OutboxDrainMode.PER_RECORD : mode;
+    }
+
+    private BatchOutcome publishKafkaBatch(List<OutboxRecord> records) {
+        List<CompletableFuture<?>> acks = new ArrayList<>(records.size());
+        for (OutboxRecord record : records) {
+            try {
+                acks.add(kafkaPublisher.sendAsync(toEnvelope(record)));
+            } catch (Exception ex) {
+                acks.add(CompletableFuture.failedFuture(ex));
+            }
+        }
+        kafkaPublisher.flush();
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(kafkaPublisher.getSyncSendTimeoutMs());
+        BatchOutcome outcome = new BatchOutcome(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            OutboxRecord record = records.get(i);
+            try {
+                acks.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                outcome.sent(record);
+            } catch (ExecutionException ex) {
+                Throwable cause = ex.getCause() == null ? ex : ex.getCause();
+                log.error("Failed to drain audit outbox row id={}", record.getId(), cause);
+                outcome.failed(record, cause.getMessage());
+            } catch (TimeoutException ex) {
+                // unacknowledged rows go back for retry; the broker may still get them, hence at-least-once
+                outcome.failed(record, "Kafka ack not received within " + kafkaPublisher.getSyncSendTimeoutMs() + " ms");
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                outcome.failed(record, "Interrupted while waiting for Kafka ack");
+            }
+        }
+        return outcome;
+    }
+
+    private BatchOutcome publishEach(List<OutboxRecord> records) {
+        BatchOutcome outcome = new BatchOutcome(records.size());
+        for (OutboxRecord record : records) {
+            try {
+                publishRecord(record);
+                outcome.sent(record);
+            } catch (Exception ex) {
+                log.error("Failed to drain audit outbox row id={}", record.getId(), ex);
+                outcome.failed(record, ex.getMessage());
+            }
+        }
+        return outcome;
+    }
+
     private void publishRecord(OutboxRecord record) {
-        if (!record.getCanonicalEnvelope().isEmpty()) {
-            CanonicalAuditEnvelope envelope = objectMapper.convertValue(record.getCanonicalEnvelope(), CanonicalAuditEnvelope.class);
-            auditService.publish(envelope);
-            return;
+        auditService.publish(toEnvelope(record));
+    }
+
+    private CanonicalAuditEnvelope toEnvelope(OutboxRecord record) {
+        if (record.getParseError() != null) {
+            throw new IllegalArgumentException(record.getParseError());
         }
 
-        if (!record.getAuditWriteRequest().isEmpty()) {
-            AuditWriteRequest request = objectMapper.convertValue(record.getAuditWriteRequest(), AuditWriteRequest.class);
-            auditService.publish(request);
-            return;
+        if (record.getCanonicalEnvelope() != null) {
+            return record.getCanonicalEnvelope();
+        }
+
+        if (record.getAuditWriteRequest() != null) {
+            AuditWriteRequest request = record.getAuditWriteRequest();
+            return CanonicalAuditEnvelope.fromWriteRequest(request, request.getSeverity());
         }
 
         AuditWriteRequest.Builder builder = AuditWriteRequest.builder()
@@ -127,14 +424,18 @@ public class AuditOutboxDrainService {
                 .source(resolveSource(record.getSource()))
                 .severity(resolveSeverity(record.getSeverity()));
 
-        if (!record.getMetadata().isEmpty()) {
+        if (record.getMetadata() != null && !record.getMetadata().isEmpty()) {
             builder.extraMap(record.getMetadata());
         }
 
-        auditService.publish(builder.build());
+        AuditWriteRequest request = builder.build();
+        return CanonicalAuditEnvelope.fromWriteRequest(request, request.getSeverity());
     }
 
-    private void markSent(long id) {
+    private void markSent(List<Long> ids, String workerId, OffsetDateTime claimedAt) {
+        if (ids.isEmpty()) {
+            return;
+        }
         String table = validateTableName(properties.getOutboxDrain().getTable());
         String sql = """
                 UPDATE %s
@@ -142,59 +443,80 @@ public class AuditOutboxDrainService {
                     processed_at = now(),
                     last_error = NULL,
                     updated_at = now()
-                WHERE id = ?
+                WHERE id = ANY(?)
+                  AND status = 'PROCESSING'
+                  AND worker_id = ?
+                  AND locked_at = ?
                 """.formatted(table);
-        jdbcTemplate.update(sql, id);
+        int updated = jdbcTemplate.update(sql, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray()));
+            ps.setString(2, workerId);
+            ps.setObject(3, claimedAt);
+        });
+        warnLostLeases(ids.size() - updated, "SENT");
     }
 
-    private boolean markFailed(OutboxRecord record, String errorMessage) {
-        int nextRetryCount = record.getRetryCount() + 1;
-        int maxRetries = record.getMaxRetries() > 0 ? record.getMaxRetries() : 5;
-        boolean deadLetter = nextRetryCount >= maxRetries;
-        String nextStatus = deadLetter ? "DEAD_LETTER" : "PENDING";
-        int delaySeconds = Math.min((int) Math.pow(2, nextRetryCount), properties.getOutboxDrain().getMaxRetryDelaySeconds());
+    /**
+     * Applies every retry and dead-letter transition of a batch in one statement; each row keeps its own retry count,
+     * backoff and error text.
+     *
+     * @return number of rows moved to DEAD_LETTER
+     */
+    private int markFailed(List<OutboxRecord> records, List<String> errorMessages, String workerId, OffsetDateTime claimedAt) {
+        if (records.isEmpty()) {
+            return 0;
+        }
+        int size = records.size();
+        Long[] ids = new Long[size];
+        String[] statuses = new String[size];
+        Integer[] retryCounts = new Integer[size];
+        Integer[] delaySeconds = new Integer[size];
+        String[] errors = new String[size];
+        for (int i = 0; i < size; i++) {
+            OutboxRecord record = records.get(i);
+            int nextRetryCount = record.getRetryCount() + 1;
+            int maxRetries = record.getMaxRetries() > 0 ? record.getMaxRetries() : 5;
+            ids[i] = record.getId();
+            statuses[i] = nextRetryCount >= maxRetries ? "DEAD_LETTER" : "PENDING";
+            retryCounts[i] = nextRetryCount;
+            delaySeconds[i] = Math.min((int) Math.pow(2, nextRetryCount), properties.getOutboxDrain().getMaxRetryDelaySeconds());
+            errors[i] = trim(errorMessages.get(i), 2000);
+        }
 
         String table = validateTableName(properties.getOutboxDrain().getTable());
         String sql = """
-                UPDATE %s
-                SET status = ?,
-                    retry_count = ?,
-                    next_retry_at = now() + (? * interval '1 second'),
-                    last_error = ?,
+                UPDATE %s o
+                SET status = f.status,
+                    retry_count = f.retry_count,
+                    next_retry_at = now() + (f.delay_seconds * interval '1 second'),
+                    last_error = f.last_error,
                     updated_at = now()
-                WHERE id = ?
+                FROM unnest(?::bigint[], ?::text[], ?::int[], ?::int[], ?::text[])
+                     AS f(id, status, retry_count, delay_seconds, last_error)
+                WHERE o.id = f.id
+                  AND o.status = 'PROCESSING'
+                  AND o.worker_id = ?
+                  AND o.locked_at = ?
+                RETURNING o.status
                 """.formatted(table);
-
-        jdbcTemplate.update(sql, nextStatus, nextRetryCount, delaySeconds, trim(errorMessage, 2000), record.getId());
-        return deadLetter;
-    }
-
-    private OutboxRecord mapRecord(ResultSet rs) throws SQLException {
-        return OutboxRecord.builder()
-                .id(rs.getLong("id"))
-                .stage(rs.getString("stage"))
-                .conversationId(rs.getString("conversation_id"))
-                .traceId(rs.getString("trace_id"))
-                .source(rs.getString("source"))
-                .severity(rs.getString("severity"))
-                .metadata(parseJsonMap(rs.getString("metadata")))
-                .auditWriteRequest(parseJsonMap(rs.getString("audit_write_request")))
-                .canonicalEnvelope(parseJsonMap(rs.getString("canonical_envelope")))
-                .retryCount(rs.getInt("retry_count"))
-                .maxRetries(rs.getInt("max_retries"))
-                .build();
+        // counted from the rows actually changed: a row whose lease was lost is not ours to dead-letter
+        List<String> applied = jdbcTemplate.query(sql, ps -> {
+            Connection connection = ps.getConnection();
+            ps.setArray(1, connection.createArrayOf("bigint", ids));
+            ps.setArray(2, connection.createArrayOf("text", statuses));
+            ps.setArray(3, connection.createArrayOf("integer", retryCounts));
+            ps.setArray(4, connection.createArrayOf("integer", delaySeconds));
+            ps.setArray(5, connection.createArrayOf("text", errors));
+            ps.setString(6, workerId);
+            ps.setObject(7, claimedAt);
+        }, (rs, rowNum) -> rs.getString(1));
+        warnLostLeases(size - applied.size(), "retry");
+        return (int) applied.stream().filter("DEAD_LETTER"::equals).count();
     }
 
-    private Map<String, Object> parseJsonMap(String json) {
-        if (json == null || json.isBlank()) {
-            return Collections.emptyMap();
-        }
-
-        try {
-            return objectMapper.readValue(json, new TypeReference<>() {
-            });
-        } catch (Exception ex) {
-            throw new IllegalArgumentException("Invalid outbox JSON payload", ex);
+    private void warnLostLeases(int lost, String update) {
+        if (lost > 0) {
+            log.warn("Skipped {} update for {} audit outbox rows whose lease was reclaimed by another claim", update, lost);
         }
     }
 
@@ -236,6 +558,31 @@ public class AuditOutboxDrainService {
         return value;
     }
 
+    private record LeaseReclaim(int expired, int deadLettered) {
+    }
+
+    private record BatchResult(int claimed, int sent, int failed, int deadLettered, long claimNanos) {
+    }
+
+    private static final class BatchOutcome {
+        private final List<Long> sentIds;
+        private final List<OutboxRecord> failed = new ArrayList<>();
+        private final List<String> errors = new ArrayList<>();
+
+        private BatchOutcome(int size) {
+            this.sentIds = new ArrayList<>(size);
+        }
+
+        private void sent(OutboxRecord record) {
+            sentIds.add(record.getId());
+        }
+
+        private void failed(OutboxRecord record, String error) {
+            failed.add(record);
+            errors.add(error);
+        }
+    }
+
     private String trim(String value, int maxLen) {
         if (value == null) {
             return null;
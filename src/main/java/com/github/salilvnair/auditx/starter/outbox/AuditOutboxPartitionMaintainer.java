@@ -0,0 +1,173 @@
+package com.github.salilvnair.auditx.starter.outbox;
+
+import com.github.salilvnair.auditx.starter.config.AuditConnectorProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps a daily range-partitioned outbox (on {@code created_at}, UTC days) in shape: creates the partitions for the
+ * next {@code premake-days} and removes partitions older than {@code retention-days} once nothing in them is left to
+ * drain. Removing a whole partition replaces row-by-row deletes, so the claim query only ever scans recent data.
+ * <p>
+ * Only partitions named {@code <table>_pYYYYMMDD} are managed; others (e.g. a default partition) are left alone.
+ */
+@Slf4j
+public class AuditOutboxPartitionMaintainer implements SmartLifecycle {
+    private static final Pattern TABLE_NAME_PATTERN = Pattern.compile("^[a-zA-Z0-9_]+$");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String table;
+    private final AuditConnectorProperties.OutboxPartitioning config;
+
+    private volatile ScheduledExecutorService scheduler;
+
+    public AuditOutboxPartitionMaintainer(JdbcTemplate jdbcTemplate, AuditConnectorProperties properties) {
+        String tableName = properties.getOutboxDrain().getTable();
+        if (tableName == null || !TABLE_NAME_PATTERN.matcher(tableName).matches()) {
+            throw new IllegalArgumentException("Invalid outbox table name: " + tableName);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.table = tableName;
+        this.config = properties.getOutboxDrain().getPartitioning();
+    }
+
+    /**
+     * One maintenance pass; also runs on start and every {@code interval-minutes}.
+     */
+    public synchronized OutboxPartitionMaintenanceSummary maintain() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        List<String> created = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        List<String> retained = new ArrayList<>();
+
+        for (int day = 0; day <= Math.max(0, config.getPremakeDays()); day++) {
+            LocalDate date = today.plusDays(day);
+            String partition = partitionName(date);
+            if (!exists(partition)) {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')"
+                        .formatted(partition, table, bound(date), bound(date.plusDays(1))));
+                created.add(partition);
+            }
+        }
+
+        LocalDate cutoff = today.minusDays(Math.max(0, config.getRetentionDays()));
+        for (String partition : managedPartitions()) {
+            LocalDate date = partitionDate(partition);
+            if (date == null || !date.isBefore(cutoff)) {
+                continue;
+            }
+            if (hasUndrainedRows(partition)) {
+                retained.add(partition);
+                continue;
+            }
+            jdbcTemplate.execute("ALTER TABLE %s DETACH PARTITION %s".formatted(table, partition));
+            if (!config.isDetachOnly()) {
+                jdbcTemplate.execute("DROP TABLE %s".formatted(partition));
+            }
+            removed.add(partition);
+        }
+
+        if (!created.isEmpty() || !removed.isEmpty()) {
+            log.info("Audit outbox partitions maintained. created={}, {}={}, retained={}",
+                    created, config.isDetachOnly() ? "detached" : "dropped", removed, retained);
+        }
+        return OutboxPartitionMaintenanceSummary.builder()
+                .created(created)
+                .removed(removed)
+                .retained(retained)
+                .build();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "auditx-outbox-partitions");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(1, config.getIntervalMinutes());
+        scheduler.scheduleWithFixedDelay(this::maintainSafely, 0, interval, TimeUnit.MINUTES);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    private void maintainSafely() {
+        try {
+            maintain();
+        } catch (Exception ex) {
+            log.error("Audit outbox partition maintenance failed for {}", table, ex);
+        }
+    }
+
+    private boolean exists(String partition) {
+        Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    private List<String> managedPartitions() {
+        String sql = """
+                SELECT c.relname
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                JOIN pg_class p ON p.oid = i.inhparent
+                WHERE p.oid = to_regclass(?)
+                  AND c.relname LIKE ?
+                ORDER BY c.relname
+                """;
+        return jdbcTemplate.queryForList(sql, String.class, table, table + "\\_p%");
+    }
+
+    /**
+     * PENDING and PROCESSING rows always keep a partition; DEAD_LETTER rows do unless {@code retain-dead-letters}
+     * is off.
+     */
+    private boolean hasUndrainedRows(String partition) {
+        String keep = config.isRetainDeadLetters() ? "status <> 'SENT'" : "status IN ('PENDING', 'PROCESSING')";
+        Boolean undrained = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM %s WHERE %s)".formatted(partition, keep), Boolean.class);
+        return Boolean.TRUE.equals(undrained);
+    }
+
+    private String partitionName(LocalDate date) {
+        return table + "_p" + SUFFIX.format(date);
+    }
+
+    private LocalDate partitionDate(String partition) {
+        try {
+            return LocalDate.parse(partition.substring(table.length() + 2), SUFFIX);
+        } catch (DateTimeParseException | IndexOutOfBoundsException ex) {
+            return null;
+        }
+    }
+
+    private static String bound(LocalDate date) {
+        return date + " 00:00:00+00";
+    }
+}
@@ -3,6 +3,8 @@ package com.github.salilvnair.auditx.starter.outbox;
 import lombok.Builder;
 import lombok.Value;
 
+import java.util.List;
+
 @Value
 @Builder
 public class OutboxDrainSummary {
@@ -11,5 +13,11 @@ public class OutboxDrainSummary {
     int sentCount;
     int failedCount;
     int deadLetterCount;
+    int leaseExpiredCount;
     long elapsedMs;
+    List<OutboxWorkerSummary> workers;
+    /**
+     * Claim size the adaptive controller will use next; {@code null} when the batch size is fixed.
+     */
+    Integer nextBatchSize;
 }
@@ -0,0 +1,245 @@
+package com.github.salilvnair.auditx.starter.outbox;
+
+import com.github.salilvnair.auditx.core.model.AuditSeverity;
+import com.github.salilvnair.auditx.core.model.AuditSource;
+import com.github.salilvnair.auditx.core.persistence.AuditStorageProfile;
+import com.github.salilvnair.auditx.core.service.IdempotencyHashAlgorithm;
+import com.github.salilvnair.auditx.starter.config.AuditConnectorProperties;
+import com.github.salilvnair.auditx.starter.persistence.AuditEventJdbcWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Moves a batch of outbox rows into the audit event table with one PostgreSQL statement.
+ * <p>
+ * The statement claims the batch, builds each event from {@code canonical_envelope}, {@code audit_write_request} or
+ * the flat columns (first one that is not NULL, {@code null} or {@code {}}, as the row mapper does), checks the rules
+ * of {@code AuditEnvelopeValidator}, computes the idempotency key and {@code event_payload} in SQL, inserts the valid
+ * rows, marks them SENT and moves the invalid ones to retry or DEAD_LETTER. All of it commits or rolls back together; claimed rows never go through
+ * PROCESSING. Keys match {@code DefaultIdempotencyKeyFactory} with SHA-256, which needs PostgreSQL 13+
+ * ({@code sha256}, {@code gen_random_uuid}).
+ */
+final class OutboxEventTransfer {
+    private static final String UUID_PATTERN = "^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$";
+    private static final String HEX_DIGEST_PATTERN = "^([0-9a-fA-F]{32}|[0-9a-fA-F]{64})$";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxRetryDelaySeconds;
+    private final String sql;
+
+    OutboxEventTransfer(JdbcTemplate jdbcTemplate, AuditConnectorProperties properties, String outboxTable,
+                        AuditEventJdbcWriter eventWriter) {
+        if (properties.getIdempotencyKey().getAlgorithm() != IdempotencyHashAlgorithm.SHA_256) {
+            throw new IllegalStateException("outbox-drain.mode=IN_DATABASE requires idempotency-key.algorithm=SHA_256");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxRetryDelaySeconds = properties.getOutboxDrain().getMaxRetryDelaySeconds();
+        this.sql = buildSql(outboxTable, eventWriter, properties.isEnforceIdempotency());
+    }
+
+    OutboxTransferResult transfer(int batchSize, String workerId) {
+        OutboxTransferResult result = jdbcTemplate.queryForObject(
+                sql,
+                (rs, rowNum) -> new OutboxTransferResult(
+                        rs.getInt("claimed"),
+                        rs.getInt("sent"),
+                        rs.getInt("inserted"),
+                        rs.getInt("failed"),
+                        rs.getInt("dead_lettered")
+                ),
+                batchSize,
+                workerId,
+                maxRetryDelaySeconds
+        );
+        return result == null ? new OutboxTransferResult(0, 0, 0, 0, 0) : result;
+    }
+
+    private static String buildSql(String outboxTable, AuditEventJdbcWriter eventWriter, boolean enforceIdempotency) {
+        AuditStorageProfile storageProfile = eventWriter.getStorageProfile();
+        String mapColumn = storageProfile.writesMapColumns() ? "%s" : "NULL::jsonb";
+        String payload = storageProfile.writesPayload() ? """
+                jsonb_build_object(
+                    'eventId', event_id,
+                    'eventTime', to_char(event_time AT TIME ZONE 'UTC', 'YYYY-MM-DD"T"HH24:MI:SS.US"Z"'),
+                    'eventType', event_type,
+                    'severity', severity,
+                    'source', source,
+                    'serviceName', service_name,
+                    'serviceVersion', service_version,
+                    'environment', environment,
+                    'sessionId', session_id,
+                    'conversationId', conversation_id,
+                    'groupId', group_id,
+                    'interactionId', interaction_id,
+                    'traceId', trace_id,
+                    'spanId', span_id,
+                    'idempotencyKey', idempotency_key,
+                    'businessKeys', business_keys,
+                    'extraMap', extra_map,
+                    'actor', actor,
+                    'errorMap', error_map
+                )""" : "NULL::jsonb";
+
+        return """
+                WITH picked AS (
+                    SELECT id
+                    FROM %1$s
+                    WHERE status = 'PENDING'
+                      AND next_retry_at <= now()
+                    ORDER BY created_at
+                    FOR UPDATE SKIP LOCKED
+                    LIMIT ?
+                ),
+                src AS (
+                    SELECT o.id,
+                           o.retry_count,
+                           o.max_retries,
+                           coalesce(
+                               nullif(nullif(o.canonical_envelope::jsonb, 'null'::jsonb), '{}'::jsonb),
+                               nullif(nullif(o.audit_write_request::jsonb, 'null'::jsonb), '{}'::jsonb),
+                               jsonb_build_object(
+                                   'eventType', o.stage,
+                                   'conversationId', o.conversation_id,
+                                   'traceId', o.trace_id,
+                                   'source', o.source,
+                                   'severity', o.severity,
+                                   'extraMap', o.metadata::jsonb
+                               )
+                           ) AS e
+                    FROM %1$s o
+                    JOIN picked ON picked.id = o.id
+                ),
+                fields AS (
+                    SELECT id,
+                           retry_count,
+                           max_retries,
+                           CASE WHEN e->>'eventId' ~ '%3$s' THEN (e->>'eventId')::uuid ELSE gen_random_uuid() END AS event_id,
+                           CASE jsonb_typeof(e->'eventTime')
+                               WHEN 'string' THEN (e->>'eventTime')::timestamptz
+                               WHEN 'number' THEN to_timestamp((e->>'eventTime')::double precision)
+                               ELSE now()
+                           END AS event_time,
+                           e->>'eventType' AS event_type,
+                           CASE WHEN upper(btrim(e->>'severity')) IN (%5$s) THEN upper(btrim(e->>'severity')) ELSE 'INFO' END AS severity,
+                           CASE WHEN upper(btrim(e->>'source')) IN (%6$s) THEN upper(btrim(e->>'source')) ELSE 'OTHER' END AS source,
+                           e->>'serviceName' AS service_name,
+                           e->>'serviceVersion' AS service_version,
+                           e->>'environment' AS environment,
+                           e->>'sessionId' AS session_id,
+                           e->>'conversationId' AS conversation_id,
+                           e->>'groupId' AS group_id,
+                           e->>'interactionId' AS interaction_id,
+                           e->>'traceId' AS trace_id,
+                           e->>'spanId' AS span_id,
+                           CASE WHEN btrim(e->>'idempotencyKey') <> '' THEN e->>'idempotencyKey' END AS requested_key,
+                           CASE WHEN jsonb_typeof(e->'businessKeys') = 'object' THEN e->'businessKeys' ELSE '{}'::jsonb END AS business_keys,
+                           CASE WHEN jsonb_typeof(e->'extraMap') = 'object' THEN e->'extraMap' ELSE '{}'::jsonb END AS extra_map,
+                           CASE WHEN jsonb_typeof(e->'actor') = 'object' THEN e->'actor' ELSE '{}'::jsonb END AS actor,
+                           CASE WHEN jsonb_typeof(e->'errorMap') = 'object' THEN e->'errorMap' ELSE '{}'::jsonb END AS error_map
+                    FROM src
+                ),
+                checked AS (
+                    SELECT f.*,
+                           CASE
+                               WHEN event_type IS NULL OR btrim(event_type) = '' THEN 'eventType is required'
+                               WHEN conversation_id IS NULL OR btrim(conversation_id) = '' THEN 'conversationId is required and must be a UUID'
+                               WHEN conversation_id !~ '%3$s' THEN 'conversationId must be a valid UUID'
+                               WHEN source = 'UI' AND (session_id IS NULL OR btrim(session_id) = '') THEN 'sessionId is required when source is UI'
+                           END AS error
+                    FROM fields f
+                ),
+                events AS (
+                    SELECT c.*, %7$s AS idempotency_key
+                    FROM checked c
+                    WHERE error IS NULL
+                ),
+                inserted AS (
+                    INSERT INTO %2$s (event_id, event_time, event_type, severity, source, service_name, service_version,
+                                      environment, session_id, conversation_id, group_id, interaction_id, trace_id, span_id,
+                                      idempotency_key, business_keys, extra_map, actor, error_map, event_payload)
+                    SELECT event_id, event_time, event_type, severity, source, service_name, service_version,
+                           environment, session_id, conversation_id, group_id, interaction_id, trace_id, span_id,
+                           idempotency_key, %8$s, %9$s, %10$s, %11$s, %12$s
+                    FROM events
+                    %4$s
+                    RETURNING 1
+                ),
+                sent AS (
+                    UPDATE %1$s o
+                    SET status = 'SENT',
+                        worker_id = ?,
+                        processed_at = now(),
+                        last_error = NULL,
+                        updated_at = now()
+                    FROM events
+                    WHERE o.id = events.id
+                    RETURNING 1
+                ),
+                failed AS (
+                    UPDATE %1$s o
+                    SET status = CASE
+                            WHEN checked.retry_count + 1 >= CASE WHEN checked.max_retries > 0 THEN checked.max_retries ELSE 5 END THEN 'DEAD_LETTER'
+                            ELSE 'PENDING'
+                        END,
+                        retry_count = checked.retry_count + 1,
+                        next_retry_at = now() + (least(power(2, checked.retry_count + 1), ?) * interval '1 second'),
+                        last_error = checked.error,
+                        updated_at = now()
+                    FROM checked
+                    WHERE o.id = checked.id
+                      AND checked.error IS NOT NULL
+                    RETURNING o.status
+                )
+                SELECT (SELECT count(*) FROM picked) AS claimed,
+                       (SELECT count(*) FROM sent) AS sent,
+                       (SELECT count(*) FROM inserted) AS inserted,
+                       (SELECT count(*) FROM failed) AS failed,
+                       (SELECT count(*) FROM failed WHERE status = 'DEAD_LETTER') AS dead_lettered
+                """.formatted(
+                outboxTable,
+                eventWriter.getTable(),
+                UUID_PATTERN,
+                enforceIdempotency ? "ON CONFLICT (idempotency_key) DO NOTHING" : "",
+                sqlNames(AuditSeverity.values()),
+                sqlNames(AuditSource.values()),
+                idempotencyKeyExpression(eventWriter.getKeyCodec().isBinary(), enforceIdempotency),
+                mapColumn.formatted("business_keys"),
+                mapColumn.formatted("extra_map"),
+                mapColumn.formatted("actor"),
+                mapColumn.formatted("error_map"),
+                payload
+        );
+    }
+
+    /**
+     * Same key as {@code DefaultIdempotencyKeyFactory} and {@code IdempotencyKeyCodec}: a requested key wins,
+     * otherwise SHA-256 of {@code eventType|source|conversationId|interactionId|groupId}.
+     */
+    private static String idempotencyKeyExpression(boolean binary, boolean enforceIdempotency) {
+        String generated = enforceIdempotency
+                ? """
+                sha256(convert_to(event_type || '|' || source || '|' || coalesce(conversation_id, '') || '|'
+                    || coalesce(interaction_id, '') || '|' || coalesce(group_id, ''), 'UTF8'))"""
+                : "NULL::bytea";
+        if (!binary) {
+            return "coalesce(requested_key, encode(" + generated + ", 'hex'))";
+        }
+        return """
+                CASE
+                    WHEN requested_key IS NULL THEN %s
+                    WHEN requested_key ~ '%s' THEN decode(requested_key, 'hex')
+                    ELSE sha256(convert_to(requested_key, 'UTF8'))
+                END""".formatted(generated, HEX_DIGEST_PATTERN);
+    }
+
+    private static String sqlNames(Enum<?>[] values) {
+        return Arrays.stream(values)
+                .map(value -> "'" + value.name() + "'")
+                .collect(Collectors.joining(", "));
+    }
+
+    record OutboxTransferResult(int claimed, int sent, int inserted, int failed, int deadLettered) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.github.salilvnair.auditx.starter.outbox;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class OutboxPartitionMaintenanceSummary {
+    List<String> created;
+    List<String> removed;
+    List<String> retained;
+}
@@ -1,10 +1,18 @@
 package com.github.salilvnair.auditx.starter.outbox;
 
+import com.github.salilvnair.auditx.core.model.AuditWriteRequest;
+import com.github.salilvnair.auditx.core.model.CanonicalAuditEnvelope;
 import lombok.Builder;
 import lombok.Value;
 
+import java.time.OffsetDateTime;
 import java.util.Map;
 
+/**
+ * A claimed outbox row. Only the first populated payload column ({@code canonical_envelope}, then
+ * {@code audit_write_request}, then {@code metadata}) is parsed; the others stay null. {@code parseError} is set
+ * instead when that column is not valid JSON for its type. {@code lockedAt} is the claim's lease stamp.
+ */
 @Value
 @Builder
 public class OutboxRecord {
@@ -15,8 +23,10 @@ public class OutboxRecord {
     String source;
     String severity;
     Map<String, Object> metadata;
-    Map<String, Object> auditWriteRequest;
-    Map<String, Object> canonicalEnvelope;
+    AuditWriteRequest auditWriteRequest;
+    CanonicalAuditEnvelope canonicalEnvelope;
+    String parseError;
     int retryCount;
     int maxRetries;
+    OffsetDateTime lockedAt;
 }
@@ -0,0 +1,96 @@
+package com.github.salilvnair.auditx.starter.outbox;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.salilvnair.auditx.core.model.AuditWriteRequest;
+import com.github.salilvnair.auditx.core.model.CanonicalAuditEnvelope;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+/**
+ * Maps a claimed {@code auditx_outbox} row to {@link OutboxRecord}.
+ * <p>
+ * The payload is bound straight to its target type with cached readers, from the column's raw bytes (PostgreSQL
+ * returns json/jsonb text without a String copy). Columns after the first populated one are not read at all, and a
+ * malformed payload is reported on the record so one bad row does not fail the whole claim.
+ */
+public class OutboxRecordRowMapper implements RowMapper<OutboxRecord> {
+    private final ObjectReader envelopeReader;
+    private final ObjectReader writeRequestReader;
+    private final ObjectReader metadataReader;
+
+    public OutboxRecordRowMapper(ObjectMapper objectMapper) {
+        this.envelopeReader = objectMapper.readerFor(CanonicalAuditEnvelope.class);
+        this.writeRequestReader = objectMapper.readerFor(AuditWriteRequest.class);
+        this.metadataReader = objectMapper.readerFor(new TypeReference<Map<String, Object>>() {
+        });
+    }
+
+    @Override
+    public OutboxRecord mapRow(ResultSet rs, int rowNum) throws SQLException {
+        OutboxRecord.OutboxRecordBuilder builder = OutboxRecord.builder()
+                .id(rs.getLong("id"))
+                .stage(rs.getString("stage"))
+                .conversationId(rs.getString("conversation_id"))
+                .traceId(rs.getString("trace_id"))
+                .source(rs.getString("source"))
+                .severity(rs.getString("severity"))
+                .retryCount(rs.getInt("retry_count"))
+                .maxRetries(rs.getInt("max_retries"))
+                .lockedAt(rs.getObject("locked_at", OffsetDateTime.class));
+
+        String column = "canonical_envelope";
+        try {
+            byte[] json = rs.getBytes(column);
+            if (!isEmpty(json)) {
+                return builder.canonicalEnvelope(envelopeReader.readValue(json)).build();
+            }
+
+            column = "audit_write_request";
+            json = rs.getBytes(column);
+            if (!isEmpty(json)) {
+                return builder.auditWriteRequest(writeRequestReader.readValue(json)).build();
+            }
+
+            column = "metadata";
+            json = rs.getBytes(column);
+            if (!isEmpty(json)) {
+                builder.metadata(metadataReader.readValue(json));
+            }
+            return builder.build();
+        } catch (IOException ex) {
+            return builder.parseError("Invalid outbox JSON payload in " + column + ": " + ex.getMessage()).build();
+        }
+    }
+
+    /**
+     * SQL NULL, blank, {@code null} and {@code {}} all count as not populated.
+     */
+    private static boolean isEmpty(byte[] json) {
+        if (json == null) {
+            return true;
+        }
+        int start = 0;
+        int end = json.length;
+        while (start < end && json[start] <= ' ') {
+            start++;
+        }
+        while (end > start && json[end - 1] <= ' ') {
+            end--;
+        }
+        int length = end - start;
+        if (length == 0) {
+            return true;
+        }
+        if (length == 2 && json[start] == '{' && json[start + 1] == '}') {
+            return true;
+        }
+        return length == 4 && json[start] == 'n' && json[start + 1] == 'u' && json[start + 2] == 'l' && json[start + 3] == 'l';
+    }
+}
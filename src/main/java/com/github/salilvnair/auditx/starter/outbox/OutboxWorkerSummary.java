@@ -0,0 +1,24 @@
+package com.github.salilvnair.auditx.starter.outbox;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * What one drain worker did during a drain call; {@code error} is set when the worker stopped on an exception,
+ * {@code batchSizes} holds the claim size used for each batch.
+ */
+@Value
+@Builder
+public class OutboxWorkerSummary {
+    String workerId;
+    int batchesProcessed;
+    int claimedCount;
+    int sentCount;
+    int failedCount;
+    int deadLetterCount;
+    long elapsedMs;
+    String error;
+    List<Integer> batchSizes;
+}
@@ -0,0 +1,61 @@
+package com.github.salilvnair.auditx.starter.outbox;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Dedicated connection that {@code LISTEN}s on the outbox channel. Kept in its own class so the PostgreSQL driver is
+ * only loaded when it is on the classpath.
+ */
+final class PgOutboxNotificationListener implements AutoCloseable {
+    private final Connection connection;
+    private final PGConnection pgConnection;
+
+    private PgOutboxNotificationListener(Connection connection, PGConnection pgConnection) {
+        this.connection = connection;
+        this.pgConnection = pgConnection;
+    }
+
+    /**
+     * @return null when the data source is not PostgreSQL
+     */
+    static PgOutboxNotificationListener open(DataSource dataSource, String channel) throws SQLException {
+        Connection connection = dataSource.getConnection();
+        try {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                connection.close();
+                return null;
+            }
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + channel);
+            }
+            return new PgOutboxNotificationListener(connection, connection.unwrap(PGConnection.class));
+        } catch (SQLException | RuntimeException ex) {
+            connection.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Blocks until a notification arrives or the timeout elapses; queued notifications are consumed together.
+     */
+    boolean await(long timeoutMs) throws SQLException {
+        PGNotification[] notifications = pgConnection.getNotifications((int) Math.max(1, Math.min(timeoutMs, Integer.MAX_VALUE)));
+        return notifications != null && notifications.length > 0;
+    }
+
+    @Override
+    public void close() {
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // connection is being discarded
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.salilvnair.auditx.starter.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.salilvnair.auditx.core.model.CanonicalAuditEnvelope;
+import com.github.salilvnair.auditx.starter.config.AuditCopyFormat;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.util.ClassUtils;
+
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Bulk writer for backfills, outbox catch-up and write-behind flushes.
+ * On PostgreSQL events are streamed with {@code COPY} into a temporary stage table and merged with an
+ * idempotency-safe insert-select; other databases fall back to JDBC batching.
+ */
+public class AuditEventBulkLoader {
+    private static final boolean PG_DRIVER_PRESENT =
+            ClassUtils.isPresent("org.postgresql.PGConnection", AuditEventBulkLoader.class.getClassLoader());
+
+    private final AuditEventJdbcWriter writer;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactionOperations;
+    private final ObjectMapper objectMapper;
+    private final AuditCopyFormat format;
+
+    private volatile PgCopyLoader copyLoader;
+
+    public AuditEventBulkLoader(
+            AuditEventJdbcWriter writer,
+            JdbcTemplate jdbcTemplate,
+            TransactionOperations transactionOperations,
+            ObjectMapper objectMapper,
+            AuditCopyFormat format
+    ) {
+        this.writer = writer;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionOperations = transactionOperations;
+        this.objectMapper = objectMapper;
+        this.format = format == null ? AuditCopyFormat.CSV : format;
+    }
+
+    /**
+     * @return number of rows inserted; duplicates on {@code idempotency_key} are skipped
+     */
+    public int load(List<CanonicalAuditEnvelope> envelopes) {
+        if (envelopes.isEmpty()) {
+            return 0;
+        }
+
+        if (!isCopySupported()) {
+            Integer inserted = transactionOperations.execute(status -> countInserted(writer.insertBatchIfAbsent(envelopes)));
+            return inserted == null ? 0 : inserted;
+        }
+
+        PgCopyLoader loader = copyLoader();
+        Integer inserted = transactionOperations.execute(status -> jdbcTemplate.execute(
+                (ConnectionCallback<Integer>) connection -> loader.load(connection, envelopes)));
+        return inserted == null ? 0 : inserted;
+    }
+
+    public boolean isCopySupported() {
+        return PG_DRIVER_PRESENT && writer.dialect() == AuditSqlDialect.POSTGRESQL;
+    }
+
+    private PgCopyLoader copyLoader() {
+        PgCopyLoader loader = copyLoader;
+        if (loader == null) {
+            loader = new PgCopyLoader(objectMapper, format, writer.getTable(), writer.getStorageProfile(), writer.getKeyCodec());
+            copyLoader = loader;
+        }
+        return loader;
+    }
+
+    private int countInserted(int[] counts) {
+        int inserted = 0;
+        for (int count : counts) {
+            if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                inserted++;
+            }
+        }
+        return inserted;
+    }
+}
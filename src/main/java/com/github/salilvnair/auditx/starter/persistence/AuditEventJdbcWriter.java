@@ -0,0 +1,216 @@
+package com.github.salilvnair.auditx.starter.persistence;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.salilvnair.auditx.core.model.CanonicalAuditEnvelope;
+import com.github.salilvnair.auditx.core.persistence.AuditStorageProfile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Plain JDBC writer for {@code AUDITX_EVENT}, used by the batch oriented publish paths.
+ */
+public class AuditEventJdbcWriter {
+    private static final Pattern TABLE_NAME_PATTERN = Pattern.compile("^[a-zA-Z0-9_.]+$");
+    static final String COLUMNS = """
+            event_id, event_time, event_type, severity, source, service_name, service_version, environment,
+            session_id, conversation_id, group_id, interaction_id, trace_id, span_id, idempotency_key,
+            business_keys, extra_map, actor, error_map, event_payload""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final String table;
+    private final AuditStorageProfile storageProfile;
+    private final IdempotencyKeyCodec keyCodec;
+
+    private volatile AuditSqlDialect dialect;
+    private volatile String insertSql;
+    private volatile String insertIgnoringDuplicatesSql;
+
+    public AuditEventJdbcWriter(
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            String table,
+            AuditStorageProfile storageProfile
+    ) {
+        this(jdbcTemplate, objectMapper, table, storageProfile, IdempotencyKeyCodec.HEX);
+    }
+
+    public AuditEventJdbcWriter(
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            String table,
+            AuditStorageProfile storageProfile,
+            IdempotencyKeyCodec keyCodec
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.table = validateTableName(table);
+        this.storageProfile = storageProfile == null ? AuditStorageProfile.FULL : storageProfile;
+        this.keyCodec = keyCodec == null ? IdempotencyKeyCodec.HEX : keyCodec;
+    }
+
+    public int insert(CanonicalAuditEnvelope envelope) {
+        return jdbcTemplate.update(insertSql(), ps -> bind(ps, envelope));
+    }
+
+    public int[] insertBatch(List<CanonicalAuditEnvelope> envelopes) {
+        return batch(insertSql(), envelopes);
+    }
+
+    /**
+     * Single round-trip idempotent insert; duplicates on {@code idempotency_key} are skipped by the database.
+     *
+     * @return true when the row was inserted, false when it was a duplicate
+     */
+    public boolean insertIfAbsent(CanonicalAuditEnvelope envelope) {
+        if (!dialect().supportsIgnoreDuplicates()) {
+            try {
+                return insert(envelope) > 0;
+            } catch (DuplicateKeyException ex) {
+                return false;
+            }
+        }
+        return jdbcTemplate.update(insertIgnoringDuplicatesSql(), ps -> bind(ps, envelope)) > 0;
+    }
+
+    /**
+     * Batch variant of {@link #insertIfAbsent(CanonicalAuditEnvelope)}.
+     *
+     * @return per-row update counts: 1 inserted, 0 duplicate, or {@link java.sql.Statement#SUCCESS_NO_INFO}
+     * when the driver rewrites the batch and cannot report per-row results
+     */
+    public int[] insertBatchIfAbsent(List<CanonicalAuditEnvelope> envelopes) {
+        if (!dialect().supportsIgnoreDuplicates()) {
+            int[] counts = new int[envelopes.size()];
+            for (int i = 0; i < envelopes.size(); i++) {
+                counts[i] = insertIfAbsent(envelopes.get(i)) ? 1 : 0;
+            }
+            return counts;
+        }
+        return batch(insertIgnoringDuplicatesSql(), envelopes);
+    }
+
+    private int[] batch(String sql, List<CanonicalAuditEnvelope> envelopes) {
+        if (envelopes.isEmpty()) {
+            return new int[0];
+        }
+
+        return jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                bind(ps, envelopes.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return envelopes.size();
+            }
+        });
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public AuditStorageProfile getStorageProfile() {
+        return storageProfile;
+    }
+
+    public IdempotencyKeyCodec getKeyCodec() {
+        return keyCodec;
+    }
+
+    public AuditSqlDialect dialect() {
+        AuditSqlDialect resolved = dialect;
+        if (resolved == null) {
+            resolved = jdbcTemplate.execute((ConnectionCallback<AuditSqlDialect>) connection ->
+                    AuditSqlDialect.fromConnection(connection));
+            dialect = resolved;
+        }
+        return resolved;
+    }
+
+    private String insertSql() {
+        String sql = insertSql;
+        if (sql == null) {
+            String json = dialect().jsonParameter();
+            sql = """
+                    INSERT INTO %s (%s)
+                    VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, %s, %s, %s, %s, %s)
+                    """.formatted(table, COLUMNS, json, json, json, json, json);
+            insertSql = sql;
+        }
+        return sql;
+    }
+
+    private String insertIgnoringDuplicatesSql() {
+        String sql = insertIgnoringDuplicatesSql;
+        if (sql == null) {
+            sql = insertSql() + dialect().ignoreDuplicatesClause();
+            insertIgnoringDuplicatesSql = sql;
+        }
+        return sql;
+    }
+
+    private void bind(PreparedStatement ps, CanonicalAuditEnvelope envelope) throws SQLException {
+        ps.setObject(1, envelope.getEventId());
+        ps.setObject(2, envelope.getEventTime().atOffset(ZoneOffset.UTC));
+        ps.setString(3, envelope.getEventType());
+        ps.setString(4, envelope.getSeverity().name());
+        ps.setString(5, envelope.getSource().name());
+        ps.setString(6, envelope.getServiceName());
+        ps.setString(7, envelope.getServiceVersion());
+        ps.setString(8, envelope.getEnvironment());
+        ps.setString(9, envelope.getSessionId());
+        ps.setString(10, envelope.getConversationId());
+        ps.setString(11, envelope.getGroupId());
+        ps.setString(12, envelope.getInteractionId());
+        ps.setString(13, envelope.getTraceId());
+        ps.setString(14, envelope.getSpanId());
+        if (keyCodec.isBinary()) {
+            ps.setBytes(15, keyCodec.toBytes(envelope.getIdempotencyKey()));
+        } else {
+            ps.setString(15, envelope.getIdempotencyKey());
+        }
+        boolean mapColumns = storageProfile.writesMapColumns();
+        setJson(ps, 16, mapColumns ? envelope.getBusinessKeys() : null);
+        setJson(ps, 17, mapColumns ? envelope.getExtraMap() : null);
+        setJson(ps, 18, mapColumns ? envelope.getActor() : null);
+        setJson(ps, 19, mapColumns ? envelope.getErrorMap() : null);
+        // the envelope serializes to the same document as AuditEventEntity#toEventPayload without the interim map
+        setJson(ps, 20, storageProfile.writesPayload() ? envelope : null);
+    }
+
+    private void setJson(PreparedStatement ps, int index, Object value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.VARCHAR);
+            return;
+        }
+        ps.setString(index, toJson(value));
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize audit event column as JSON", ex);
+        }
+    }
+
+    private String validateTableName(String tableName) {
+        if (tableName == null || !TABLE_NAME_PATTERN.matcher(tableName).matches()) {
+            throw new IllegalArgumentException("Invalid audit event table name: " + tableName);
+        }
+        return tableName;
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.salilvnair.auditx.starter.persistence;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+
+/**
+ * Minimal dialect switch for the plain JDBC write paths.
+ */
+public enum AuditSqlDialect {
+    POSTGRESQL("CAST(? AS jsonb)", "ON CONFLICT (idempotency_key) DO NOTHING"),
+    /**
+     * H2 in PostgreSQL mode accepts ON CONFLICT DO NOTHING, but without a conflict target.
+     */
+    H2_POSTGRESQL("? FORMAT JSON", "ON CONFLICT DO NOTHING"),
+    /**
+     * H2 in its default (or any other) mode rejects ON CONFLICT: plain insert, duplicates surface as exceptions.
+     */
+    H2("? FORMAT JSON", null),
+    GENERIC("?", null);
+
+    private final String jsonParameter;
+    private final String ignoreDuplicatesClause;
+
+    AuditSqlDialect(String jsonParameter, String ignoreDuplicatesClause) {
+        this.jsonParameter = jsonParameter;
+        this.ignoreDuplicatesClause = ignoreDuplicatesClause;
+    }
+
+    public String jsonParameter() {
+        return jsonParameter;
+    }
+
+    public String ignoreDuplicatesClause() {
+        return ignoreDuplicatesClause;
+    }
+
+    public boolean supportsIgnoreDuplicates() {
+        return ignoreDuplicatesClause != null;
+    }
+
+    /**
+     * Like {@link #fromProductName(String)}, but tells H2 in PostgreSQL mode from H2 in any other mode.
+     */
+    public static AuditSqlDialect fromConnection(Connection connection) throws SQLException {
+        AuditSqlDialect dialect = fromProductName(connection.getMetaData().getDatabaseProductName());
+        if (dialect != H2) {
+            return dialect;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                     "SELECT SETTING_VALUE FROM INFORMATION_SCHEMA.SETTINGS WHERE SETTING_NAME = 'MODE'")) {
+            return rs.next() && "PostgreSQL".equalsIgnoreCase(rs.getString(1)) ? H2_POSTGRESQL : H2;
+        }
+    }
+
+    public static AuditSqlDialect fromProductName(String databaseProductName) {
+        if (databaseProductName == null) {
+            return GENERIC;
+        }
+        String name = databaseProductName.toLowerCase(Locale.ROOT);
+        if (name.contains("postgres")) {
+            return POSTGRESQL;
+        }
+        if (name.contains("h2")) {
+            return H2;
+        }
+        return GENERIC;
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.salilvnair.auditx.starter.persistence;
+
+import com.github.salilvnair.auditx.core.service.IdempotencyHashAlgorithm;
+import com.github.salilvnair.auditx.starter.config.IdempotencyKeyStorage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+
+/**
+ * Converts idempotency keys to their {@code idempotency_key} column value.
+ * <p>
+ * In {@link IdempotencyKeyStorage#BINARY} mode hex digests (32 or 64 characters) are stored as their raw bytes, so
+ * keys written as hex before a {@code decode(idempotency_key, 'hex')} migration keep matching. Any other caller
+ * supplied key is hashed with the configured algorithm.
+ */
+public final class IdempotencyKeyCodec {
+    public static final IdempotencyKeyCodec HEX = new IdempotencyKeyCodec(IdempotencyKeyStorage.HEX, IdempotencyHashAlgorithm.SHA_256);
+
+    private static final HexFormat HEX_FORMAT = HexFormat.of();
+
+    private final IdempotencyKeyStorage storage;
+    private final IdempotencyHashAlgorithm algorithm;
+
+    public IdempotencyKeyCodec(IdempotencyKeyStorage storage, IdempotencyHashAlgorithm algorithm) {
+        this.storage = storage == null ? IdempotencyKeyStorage.HEX : storage;
+        this.algorithm = algorithm == null ? IdempotencyHashAlgorithm.SHA_256 : algorithm;
+    }
+
+    public boolean isBinary() {
+        return storage == IdempotencyKeyStorage.BINARY;
+    }
+
+    public byte[] toBytes(String key) {
+        if (key == null) {
+            return null;
+        }
+        if (isHexDigest(key)) {
+            return HEX_FORMAT.parseHex(key);
+        }
+        return algorithm.hash(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static boolean isHexDigest(String key) {
+        int length = key.length();
+        if (length != 32 && length != 64) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (!HexFormat.isHexDigit(key.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,227 @@
+package com.github.salilvnair.auditx.starter.persistence;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.salilvnair.auditx.core.model.CanonicalAuditEnvelope;
+import com.github.salilvnair.auditx.core.persistence.AuditStorageProfile;
+import com.github.salilvnair.auditx.starter.config.AuditCopyFormat;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * PostgreSQL {@code COPY} path of {@link AuditEventBulkLoader}. Isolated in its own class so the PostgreSQL
+ * driver is only needed when this path actually runs.
+ */
+final class PgCopyLoader {
+    private static final String STAGE_TABLE = "auditx_event_copy_stage";
+    private static final byte[] BINARY_SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+    private static final long PG_EPOCH_SECONDS = 946_684_800L;
+    private static final int JSONB_VERSION = 1;
+    private static final int FIELD_COUNT = 20;
+    private static final int FLUSH_THRESHOLD = 64 * 1024;
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final ObjectMapper objectMapper;
+    private final AuditCopyFormat format;
+    private final AuditStorageProfile storageProfile;
+    private final IdempotencyKeyCodec keyCodec;
+    private final String createStageSql;
+    private final String copySql;
+    private final String mergeSql;
+
+    PgCopyLoader(
+            ObjectMapper objectMapper,
+            AuditCopyFormat format,
+            String table,
+            AuditStorageProfile storageProfile,
+            IdempotencyKeyCodec keyCodec
+    ) {
+        String columns = AuditEventJdbcWriter.COLUMNS;
+        this.objectMapper = objectMapper;
+        this.format = format;
+        this.storageProfile = storageProfile;
+        this.keyCodec = keyCodec;
+        this.createStageSql = "CREATE TEMP TABLE IF NOT EXISTS %s (LIKE %s INCLUDING DEFAULTS) ON COMMIT DELETE ROWS"
+                .formatted(STAGE_TABLE, table);
+        this.copySql = "COPY %s (%s) FROM STDIN WITH (FORMAT %s)"
+                .formatted(STAGE_TABLE, columns, format == AuditCopyFormat.BINARY ? "binary" : "csv");
+        this.mergeSql = """
+                INSERT INTO %s (%s)
+                SELECT %s FROM %s
+                ON CONFLICT (idempotency_key) DO NOTHING
+                """.formatted(table, columns, columns, STAGE_TABLE);
+    }
+
+    /**
+     * Must run inside a transaction: the stage table is emptied on commit.
+     *
+     * @return number of rows inserted into the event table
+     */
+    int load(Connection connection, List<CanonicalAuditEnvelope> envelopes) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(createStageSql);
+        }
+
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(copySql);
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(FLUSH_THRESHOLD * 2);
+            DataOutputStream out = new DataOutputStream(buffer);
+            if (format == AuditCopyFormat.BINARY) {
+                out.write(BINARY_SIGNATURE);
+                out.writeInt(0);
+                out.writeInt(0);
+            }
+            for (CanonicalAuditEnvelope envelope : envelopes) {
+                if (format == AuditCopyFormat.BINARY) {
+                    writeBinaryRow(out, envelope);
+                } else {
+                    writeCsvRow(out, envelope);
+                }
+                if (buffer.size() >= FLUSH_THRESHOLD) {
+                    copyIn.writeToCopy(buffer.toByteArray(), 0, buffer.size());
+                    buffer.reset();
+                }
+            }
+            if (format == AuditCopyFormat.BINARY) {
+                out.writeShort(-1);
+            }
+            if (buffer.size() > 0) {
+                copyIn.writeToCopy(buffer.toByteArray(), 0, buffer.size());
+            }
+            copyIn.endCopy();
+        } catch (IOException ex) {
+            throw new SQLException("Failed to encode audit events for COPY", ex);
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            return statement.executeUpdate(mergeSql);
+        }
+    }
+
+    private void writeCsvRow(DataOutputStream out, CanonicalAuditEnvelope envelope) throws IOException {
+        csv(out, envelope.getEventId().toString(), false);
+        csv(out, DateTimeFormatter.ISO_INSTANT.format(envelope.getEventTime()), false);
+        csv(out, envelope.getEventType(), false);
+        csv(out, envelope.getSeverity().name(), false);
+        csv(out, envelope.getSource().name(), false);
+        csv(out, envelope.getServiceName(), false);
+        csv(out, envelope.getServiceVersion(), false);
+        csv(out, envelope.getEnvironment(), false);
+        csv(out, envelope.getSessionId(), false);
+        csv(out, envelope.getConversationId(), false);
+        csv(out, envelope.getGroupId(), false);
+        csv(out, envelope.getInteractionId(), false);
+        csv(out, envelope.getTraceId(), false);
+        csv(out, envelope.getSpanId(), false);
+        csv(out, keyCodec.isBinary() ? byteaHex(envelope.getIdempotencyKey()) : envelope.getIdempotencyKey(), false);
+        boolean mapColumns = storageProfile.writesMapColumns();
+        csv(out, mapColumns ? json(envelope.getBusinessKeys()) : null, false);
+        csv(out, mapColumns ? json(envelope.getExtraMap()) : null, false);
+        csv(out, mapColumns ? json(envelope.getActor()) : null, false);
+        csv(out, mapColumns ? json(envelope.getErrorMap()) : null, false);
+        csv(out, storageProfile.writesPayload() ? json(envelope) : null, true);
+    }
+
+    private void csv(DataOutputStream out, String value, boolean last) throws IOException {
+        // unquoted empty is NULL in CSV COPY, so every non-null value is quoted
+        if (value != null) {
+            out.write('"');
+            out.write(value.replace("\"", "\"\"").getBytes(StandardCharsets.UTF_8));
+            out.write('"');
+        }
+        out.write(last ? '\n' : ',');
+    }
+
+    private void writeBinaryRow(DataOutputStream out, CanonicalAuditEnvelope envelope) throws IOException {
+        out.writeShort(FIELD_COUNT);
+        UUID eventId = envelope.getEventId();
+        out.writeInt(16);
+        out.writeLong(eventId.getMostSignificantBits());
+        out.writeLong(eventId.getLeastSignificantBits());
+        out.writeInt(8);
+        out.writeLong(pgMicros(envelope.getEventTime()));
+        text(out, envelope.getEventType());
+        text(out, envelope.getSeverity().name());
+        text(out, envelope.getSource().name());
+        text(out, envelope.getServiceName());
+        text(out, envelope.getServiceVersion());
+        text(out, envelope.getEnvironment());
+        text(out, envelope.getSessionId());
+        text(out, envelope.getConversationId());
+        text(out, envelope.getGroupId());
+        text(out, envelope.getInteractionId());
+        text(out, envelope.getTraceId());
+        text(out, envelope.getSpanId());
+        if (keyCodec.isBinary()) {
+            bytes(out, keyCodec.toBytes(envelope.getIdempotencyKey()));
+        } else {
+            text(out, envelope.getIdempotencyKey());
+        }
+        boolean mapColumns = storageProfile.writesMapColumns();
+        jsonb(out, mapColumns ? envelope.getBusinessKeys() : null);
+        jsonb(out, mapColumns ? envelope.getExtraMap() : null);
+        jsonb(out, mapColumns ? envelope.getActor() : null);
+        jsonb(out, mapColumns ? envelope.getErrorMap() : null);
+        jsonb(out, storageProfile.writesPayload() ? envelope : null);
+    }
+
+    private void text(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private void bytes(DataOutputStream out, byte[] value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(value.length);
+        out.write(value);
+    }
+
+    private String byteaHex(String key) {
+        byte[] value = keyCodec.toBytes(key);
+        return value == null ? null : "\\x" + HEX.formatHex(value);
+    }
+
+    private void jsonb(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = objectMapper.writeValueAsBytes(value);
+        out.writeInt(bytes.length + 1);
+        out.writeByte(JSONB_VERSION);
+        out.write(bytes);
+    }
+
+    private String json(Object value) throws JsonProcessingException {
+        return value == null ? null : objectMapper.writeValueAsString(value);
+    }
+
+    private static long pgMicros(Instant instant) {
+        return (instant.getEpochSecond() - PG_EPOCH_SECONDS) * 1_000_000L + instant.getNano() / 1_000;
+    }
+}
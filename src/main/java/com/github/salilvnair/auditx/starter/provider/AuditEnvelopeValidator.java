@@ -0,0 +1,65 @@
+package com.github.salilvnair.auditx.starter.provider;
+
+import com.github.salilvnair.auditx.core.model.AuditSource;
+import com.github.salilvnair.auditx.core.model.AuditWriteRequest;
+import com.github.salilvnair.auditx.core.model.CanonicalAuditEnvelope;
+
+import java.util.UUID;
+
+/**
+ * Rules an envelope must pass before it is written, shared by {@link JpaAuditPublisher}, the Kafka sink and the ingress
+ * API. Envelopes decoded from JSON can carry explicit nulls the builder defaults would otherwise have filled in.
+ */
+public final class AuditEnvelopeValidator {
+    private AuditEnvelopeValidator() {
+    }
+
+    public static void validate(CanonicalAuditEnvelope envelope) {
+        if (envelope.getEventId() == null) {
+            throw new IllegalArgumentException("eventId is required");
+        }
+        if (envelope.getEventTime() == null) {
+            throw new IllegalArgumentException("eventTime is required");
+        }
+        if (isBlank(envelope.getEventType())) {
+            throw new IllegalArgumentException("eventType is required");
+        }
+        if (envelope.getSeverity() == null) {
+            throw new IllegalArgumentException("severity is required");
+        }
+        if (envelope.getSource() == null) {
+            throw new IllegalArgumentException("source is required");
+        }
+        validateCorrelation(envelope.getConversationId(), envelope.getSource(), envelope.getSessionId());
+    }
+
+    /**
+     * Same rules for a write request; a missing severity or source is allowed and defaults to INFO / OTHER.
+     */
+    public static void validate(AuditWriteRequest request) {
+        if (isBlank(request.getEventType())) {
+            throw new IllegalArgumentException("eventType is required");
+        }
+        validateCorrelation(request.getConversationId(), request.getSource(), request.getSessionId());
+    }
+
+    private static void validateCorrelation(String conversationId, AuditSource source, String sessionId) {
+        if (isBlank(conversationId)) {
+            throw new IllegalArgumentException("conversationId is required and must be a UUID");
+        }
+
+        try {
+            UUID.fromString(conversationId);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("conversationId must be a valid UUID", ex);
+        }
+
+        if (source == AuditSource.UI && isBlank(sessionId)) {
+            throw new IllegalArgumentException("sessionId is required when source is UI");
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,38 @@
+package com.github.salilvnair.auditx.starter.provider;
+
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.util.HashMap;
+
+/**
+ * {@code KafkaTemplate<String, byte[]>} built from the application's producer configuration, used by the byte
+ * payload formats. Owns its producer factory and closes it, flushing pending records, on shutdown.
+ * The producer is created on first send.
+ */
+public class AuditKafkaByteTemplate implements DisposableBean {
+    private final DefaultKafkaProducerFactory<String, byte[]> producerFactory;
+    private final KafkaTemplate<String, byte[]> template;
+
+    public AuditKafkaByteTemplate(ProducerFactory<?, ?> source) {
+        this.producerFactory = new DefaultKafkaProducerFactory<>(
+                new HashMap<>(source.getConfigurationProperties()),
+                new StringSerializer(),
+                new ByteArraySerializer()
+        );
+        this.template = new KafkaTemplate<>(producerFactory);
+    }
+
+    public KafkaTemplate<String, byte[]> template() {
+        return template;
+    }
+
+    @Override
+    public void destroy() {
+        producerFactory.destroy();
+    }
+}
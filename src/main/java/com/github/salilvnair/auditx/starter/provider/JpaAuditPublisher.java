@@ -1,26 +1,33 @@
 package com.github.salilvnair.auditx.starter.provider;
 
-import com.github.salilvnair.auditx.core.model.AuditSource;
 import com.github.salilvnair.auditx.core.model.CanonicalAuditEnvelope;
 import com.github.salilvnair.auditx.core.persistence.AuditEventEntity;
 import com.github.salilvnair.auditx.core.service.AuditPublisher;
 import com.github.salilvnair.auditx.core.service.IdempotencyKeyFactory;
 import com.github.salilvnair.auditx.starter.config.AuditConnectorProperties;
+import com.github.salilvnair.auditx.starter.executor.AuditPublishTask;
+import com.github.salilvnair.auditx.starter.idempotency.RecentIdempotencyKeyFilter;
+import com.github.salilvnair.auditx.starter.persistence.AuditEventJdbcWriter;
 import com.github.salilvnair.auditx.starter.persistence.AuditEventRepository;
+import com.github.salilvnair.auditx.starter.spill.AuditSpillLog;
+import com.github.salilvnair.auditx.starter.support.TransientFailures;
+import com.github.salilvnair.auditx.starter.writebehind.AuditWriteBehindBuffer;
 import lombok.extern.slf4j.Slf4j;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.task.AsyncTaskExecutor;
-import org.springframework.dao.DataIntegrityViolationException;
 import java.util.Objects;
-import java.util.UUID;
 
 @RequiredArgsConstructor
 @Slf4j
 public class JpaAuditPublisher implements AuditPublisher {
     private final AuditEventRepository repository;
+    private final AuditEventJdbcWriter jdbcWriter;
     private final IdempotencyKeyFactory idempotencyKeyFactory;
     private final AuditConnectorProperties properties;
     private final AsyncTaskExecutor asyncTaskExecutor;
+    private final AuditWriteBehindBuffer writeBehindBuffer;
+    private final RecentIdempotencyKeyFilter idempotencyPreFilter;
+    private final AuditSpillLog spillLog;
 
     @Override
     public void publish(CanonicalAuditEnvelope envelope) {
@@ -28,11 +35,19 @@ public class JpaAuditPublisher implements AuditPublisher {
             return;
         }
 
+        if (writeBehindBuffer != null && writeBehindBuffer.isRunning()) {
+            publishWriteBehind(envelope);
+            return;
+        }
+
         if (properties.isAsyncJpaPublish()) {
-            asyncTaskExecutor.submit(() -> {
+            asyncTaskExecutor.execute(new AuditPublishTask(envelope, () -> {
                 try {
                     doPublish(envelope);
                 } catch (Exception ex) {
+                    if (TransientFailures.isTransient(ex) && spill(envelope, ex)) {
+                        return;
+                    }
                     log.error(
                             "Async audit publish failed. eventType={}, conversationId={}, interactionId={}",
                             envelope.getEventType(),
@@ -41,63 +56,109 @@ public class JpaAuditPublisher implements AuditPublisher {
                             ex
                     );
                 }
-            });
+            }));
             return;
         }
 
         doPublish(envelope);
     }
 
+    private void publishWriteBehind(CanonicalAuditEnvelope envelope) {
+        CanonicalAuditEnvelope enriched;
+        try {
+            validate(envelope);
+            enriched = enrichDefaults(envelope);
+        } catch (Exception ex) {
+            log.error(
+                    "Write-behind audit publish rejected. eventType={}, conversationId={}, interactionId={}",
+                    envelope.getEventType(),
+                    envelope.getConversationId(),
+                    envelope.getInteractionId(),
+                    ex
+            );
+            return;
+        }
+
+        if (isRecentDuplicate(enriched)) {
+            return;
+        }
+
+        if (writeBehindBuffer.offer(enriched)) {
+            return;
+        }
+
+        // buffer full or stopping: write on the caller thread so the overflow turns into backpressure instead of loss
+        persist(enriched);
+    }
+
+    @Override
+    public void publishSync(CanonicalAuditEnvelope envelope) {
+        if (properties.isEnabled()) {
+            doPublish(envelope);
+        }
+    }
+
+    private boolean spill(CanonicalAuditEnvelope envelope, Exception ex) {
+        if (spillLog == null || !spillLog.append(envelope)) {
+            return false;
+        }
+        log.warn("Async audit publish failed, event spilled for replay. eventType={}, cause={}",
+                envelope.getEventType(), ex.toString());
+        return true;
+    }
+
     private void doPublish(CanonicalAuditEnvelope envelope) {
         validate(envelope);
 
         CanonicalAuditEnvelope enriched = enrichDefaults(envelope);
-
-        if (properties.isEnforceIdempotency() && repository.existsByIdempotencyKey(enriched.getIdempotencyKey())) {
+        if (isRecentDuplicate(enriched)) {
             return;
         }
+        persist(enriched);
+    }
 
-        try {
-            repository.save(AuditEventEntity.fromEnvelope(enriched));
-        } catch (DataIntegrityViolationException ex) {
-            if (!properties.isEnforceIdempotency()) {
-                throw ex;
+    private void persist(CanonicalAuditEnvelope enriched) {
+        if (properties.isEnforceIdempotency()) {
+            // dedup happens inside the insert statement: one round trip, no exception for duplicates
+            boolean inserted = jdbcWriter.insertIfAbsent(enriched);
+            if (!inserted) {
+                log.debug("Duplicate audit event skipped. idempotencyKey={}", enriched.getIdempotencyKey());
+            }
+            if (idempotencyPreFilter != null) {
+                idempotencyPreFilter.remember(enriched.getIdempotencyKey());
             }
+            return;
         }
+
+        if (jdbcWriter.getKeyCodec().isBinary()) {
+            // the entity maps idempotency_key as text, binary keys go through the JDBC writer
+            jdbcWriter.insert(enriched);
+            return;
+        }
+        repository.save(AuditEventEntity.fromEnvelope(enriched, properties.getStorageProfile()));
     }
 
-    private CanonicalAuditEnvelope enrichDefaults(CanonicalAuditEnvelope envelope) {
-        CanonicalAuditEnvelope withServiceFields = CanonicalAuditEnvelope.builder()
-                .eventId(envelope.getEventId())
-                .eventTime(envelope.getEventTime())
-                .eventType(envelope.getEventType())
-                .severity(envelope.getSeverity())
-                .source(envelope.getSource())
-                .serviceName(envelope.getServiceName())
-                .serviceVersion(envelope.getServiceVersion())
-                .environment(envelope.getEnvironment())
-                .sessionId(envelope.getSessionId())
-                .conversationId(envelope.getConversationId())
-                .groupId(envelope.getGroupId())
-                .interactionId(envelope.getInteractionId())
-                .traceId(envelope.getTraceId())
-                .spanId(envelope.getSpanId())
-                .idempotencyKey(envelope.getIdempotencyKey())
-                .businessKeys(envelope.getBusinessKeys())
-                .extraMap(envelope.getExtraMap())
-                .actor(envelope.getActor())
-                .errorMap(envelope.getErrorMap())
-                .build();
+    private boolean isRecentDuplicate(CanonicalAuditEnvelope enriched) {
+        if (idempotencyPreFilter == null || !properties.isEnforceIdempotency()) {
+            return false;
+        }
+        if (idempotencyPreFilter.isRecentDuplicate(enriched.getIdempotencyKey())) {
+            log.debug("Duplicate audit event rejected by pre-filter. idempotencyKey={}", enriched.getIdempotencyKey());
+            return true;
+        }
+        return false;
+    }
 
+    private CanonicalAuditEnvelope enrichDefaults(CanonicalAuditEnvelope envelope) {
         if (!properties.isEnforceIdempotency()) {
-            return withServiceFields;
+            return envelope;
         }
 
-        if (isBlank(withServiceFields.getIdempotencyKey())) {
-            return withServiceFields.withIdempotencyKey(idempotencyKeyFactory.create(withServiceFields));
+        if (isBlank(envelope.getIdempotencyKey())) {
+            return envelope.withIdempotencyKey(idempotencyKeyFactory.create(envelope));
         }
 
-        return withServiceFields;
+        return envelope;
     }
 
     private boolean isBlank(String value) {
@@ -105,18 +166,6 @@ public class JpaAuditPublisher implements AuditPublisher {
     }
 
     private void validate(CanonicalAuditEnvelope envelope) {
-        if (isBlank(envelope.getConversationId())) {
-            throw new IllegalArgumentException("conversationId is required and must be a UUID");
-        }
-
-        try {
-            UUID.fromString(envelope.getConversationId());
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException("conversationId must be a valid UUID", ex);
-        }
-
-        if (envelope.getSource() == AuditSource.UI && isBlank(envelope.getSessionId())) {
-            throw new IllegalArgumentException("sessionId is required when source is UI");
-        }
+        AuditEnvelopeValidator.validate(envelope);
     }
 }
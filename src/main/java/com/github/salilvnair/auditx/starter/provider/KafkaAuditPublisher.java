@@ -1,32 +1,79 @@
 package com.github.salilvnair.auditx.starter.provider;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.github.salilvnair.auditx.core.model.AuditSource;
 import com.github.salilvnair.auditx.core.model.CanonicalAuditEnvelope;
 import com.github.salilvnair.auditx.core.service.AuditPublisher;
 import com.github.salilvnair.auditx.core.service.IdempotencyKeyFactory;
 import com.github.salilvnair.auditx.starter.config.AuditConnectorProperties;
 import com.github.salilvnair.auditx.starter.config.KafkaMessageKeyType;
-import lombok.RequiredArgsConstructor;
+import com.github.salilvnair.auditx.starter.config.KafkaSendMode;
+import com.github.salilvnair.auditx.starter.executor.AuditPublishTask;
+import com.github.salilvnair.auditx.starter.idempotency.RecentIdempotencyKeyFilter;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.RetriableException;
+import org.apache.kafka.common.header.Header;
 import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 
+import java.util.Arrays;
 import java.util.Objects;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Kafka-backed publisher that writes canonical envelope as JSON.
+ * Kafka-backed publisher that writes the canonical envelope in the format of its {@link KafkaPayloadEncoder}.
+ * <p>
+ * In {@link KafkaSendMode#DIRECT} mode {@code send} is called on the caller thread, outstanding sends are bounded by
+ * {@code kafka.max-in-flight} permits and completion is handled in the send callback: retriable failures are resent
+ * with exponential backoff, anything else goes to the {@link KafkaPublishFailureHandler}.
  */
 @Slf4j
-@RequiredArgsConstructor
-public class KafkaAuditPublisher implements AuditPublisher {
-    private final KafkaTemplate<String, String> kafkaTemplate;
+public class KafkaAuditPublisher<V> implements AuditPublisher, AutoCloseable {
+    private final KafkaTemplate<String, V> kafkaTemplate;
+    private final KafkaPayloadEncoder<V> payloadEncoder;
     private final IdempotencyKeyFactory idempotencyKeyFactory;
     private final AuditConnectorProperties properties;
     private final AsyncTaskExecutor asyncTaskExecutor;
-    private final ObjectMapper objectMapper;
+    private final RecentIdempotencyKeyFilter idempotencyPreFilter;
+    private final KafkaPublishFailureHandler failureHandler;
+    private final KafkaHeaderEncoder headerEncoder;
+    private final Semaphore inFlightPermits;
+    private final int maxInFlight;
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong acknowledged = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong permitTimeouts = new AtomicLong();
+    private volatile ScheduledExecutorService retryScheduler;
+
+    public KafkaAuditPublisher(
+            KafkaTemplate<String, V> kafkaTemplate,
+            KafkaPayloadEncoder<V> payloadEncoder,
+            IdempotencyKeyFactory idempotencyKeyFactory,
+            AuditConnectorProperties properties,
+            AsyncTaskExecutor asyncTaskExecutor,
+            RecentIdempotencyKeyFilter idempotencyPreFilter,
+            KafkaPublishFailureHandler failureHandler
+    ) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.payloadEncoder = payloadEncoder;
+        this.idempotencyKeyFactory = idempotencyKeyFactory;
+        this.properties = properties;
+        this.asyncTaskExecutor = asyncTaskExecutor;
+        this.idempotencyPreFilter = idempotencyPreFilter;
+        this.failureHandler = failureHandler;
+        this.headerEncoder = new KafkaHeaderEncoder(properties.getKafka().getHeaders());
+        this.maxInFlight = Math.max(1, properties.getKafka().getMaxInFlight());
+        this.inFlightPermits = new Semaphore(maxInFlight);
+    }
 
     @Override
     public void publish(CanonicalAuditEnvelope envelope) {
@@ -34,8 +81,25 @@ public class KafkaAuditPublisher implements AuditPublisher {
             return;
         }
 
+        if (isDirect()) {
+            doPublish(envelope);
+            return;
+        }
+
         if (properties.isAsyncKafkaPublish()) {
-            asyncTaskExecutor.submit(() -> doPublish(envelope));
+            asyncTaskExecutor.execute(new AuditPublishTask(envelope, () -> {
+                try {
+                    doPublish(envelope);
+                } catch (Exception ex) {
+                    log.error(
+                            "Async Kafka audit publish failed. eventType={}, conversationId={}, interactionId={}",
+                            envelope.getEventType(),
+                            envelope.getConversationId(),
+                            envelope.getInteractionId(),
+                            ex
+                    );
+                }
+            }));
             return;
         }
 
@@ -43,11 +107,229 @@ public class KafkaAuditPublisher implements AuditPublisher {
     }
 
     private void doPublish(CanonicalAuditEnvelope envelope) {
-        validate(envelope);
+        AuditEnvelopeValidator.validate(envelope);
         CanonicalAuditEnvelope enriched = enrichDefaults(envelope);
+        if (isRecentDuplicate(enriched)) {
+            return;
+        }
         String key = messageKey(enriched);
-        String payload = toJson(enriched);
-        kafkaTemplate.send(properties.getKafka().getTopic(), key, payload);
+        V payload = payloadEncoder.encode(enriched);
+        if (isDirect()) {
+            sendWithPermit(enriched, key, payload);
+            return;
+        }
+        CompletableFuture<SendResult<String, V>> future = kafkaTemplate.send(record(enriched, key, payload));
+        sent.incrementAndGet();
+        future.whenComplete((result, ex) -> {
+            if (ex == null) {
+                onAcknowledged(enriched);
+            } else {
+                failed.incrementAndGet();
+                notifyFailure(enriched, ex);
+            }
+        });
+    }
+
+    /**
+     * Sends and waits for the broker acknowledgement, bypassing permits, retries and the failure handler.
+     */
+    @Override
+    public void publishSync(CanonicalAuditEnvelope envelope) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        AuditEnvelopeValidator.validate(envelope);
+        CanonicalAuditEnvelope enriched = enrichDefaults(envelope);
+        try {
+            CompletableFuture<SendResult<String, V>> future =
+                    kafkaTemplate.send(record(enriched, messageKey(enriched), payloadEncoder.encode(enriched)));
+            sent.incrementAndGet();
+            future.get(properties.getKafka().getSyncSendTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while sending audit event to Kafka", ex);
+        } catch (ExecutionException | TimeoutException ex) {
+            throw new IllegalStateException("Kafka audit send failed. eventType=" + enriched.getEventType(), ex);
+        }
+        onAcknowledged(enriched);
+    }
+
+    /**
+     * Sends without the executor, permits, retries or failure handler; the caller owns completion and should
+     * {@link #flush()} after a batch. Events dropped by the pre-filter complete immediately.
+     */
+    public CompletableFuture<?> sendAsync(CanonicalAuditEnvelope envelope) {
+        AuditEnvelopeValidator.validate(envelope);
+        CanonicalAuditEnvelope enriched = enrichDefaults(envelope);
+        if (isRecentDuplicate(enriched)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<SendResult<String, V>> future =
+                kafkaTemplate.send(record(enriched, messageKey(enriched), payloadEncoder.encode(enriched)));
+        sent.incrementAndGet();
+        return future.whenComplete((result, ex) -> {
+            if (ex == null) {
+                onAcknowledged(enriched);
+            } else {
+                failed.incrementAndGet();
+            }
+        });
+    }
+
+    public void flush() {
+        kafkaTemplate.flush();
+    }
+
+    public long getSyncSendTimeoutMs() {
+        return properties.getKafka().getSyncSendTimeoutMs();
+    }
+
+    public KafkaPublishStats stats() {
+        return KafkaPublishStats.builder()
+                .inFlight(maxInFlight - inFlightPermits.availablePermits())
+                .sent(sent.get())
+                .acknowledged(acknowledged.get())
+                .retried(retried.get())
+                .failed(failed.get())
+                .permitTimeouts(permitTimeouts.get())
+                .build();
+    }
+
+    @Override
+    public void close() {
+        ScheduledExecutorService scheduler = retryScheduler;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void sendWithPermit(CanonicalAuditEnvelope enriched, String key, V payload) {
+        if (!acquirePermit()) {
+            permitTimeouts.incrementAndGet();
+            // retriable, so the spill handler keeps it for replay
+            notifyFailure(enriched, new org.apache.kafka.common.errors.TimeoutException("Kafka in-flight limit of " + maxInFlight + " reached"));
+            return;
+        }
+        send(enriched, key, payload, 0);
+    }
+
+    private boolean acquirePermit() {
+        try {
+            return inFlightPermits.tryAcquire(properties.getKafka().getPermitTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Holds one permit from the first attempt until the event is acknowledged or handed to the failure handler.
+     */
+    private void send(CanonicalAuditEnvelope enriched, String key, V payload, int attempt) {
+        CompletableFuture<SendResult<String, V>> future;
+        try {
+            future = kafkaTemplate.send(record(enriched, key, payload));
+        } catch (RuntimeException ex) {
+            onSendFailure(enriched, key, payload, attempt, ex);
+            return;
+        }
+        sent.incrementAndGet();
+        future.whenComplete((result, ex) -> {
+            if (ex == null) {
+                inFlightPermits.release();
+                onAcknowledged(enriched);
+            } else {
+                onSendFailure(enriched, key, payload, attempt, ex);
+            }
+        });
+    }
+
+    private void onSendFailure(CanonicalAuditEnvelope enriched, String key, V payload, int attempt, Throwable ex) {
+        if (attempt < properties.getKafka().getMaxRetries() && isRetriable(ex)) {
+            try {
+                // resend off the producer I/O thread; send may block on metadata or a full buffer
+                retryScheduler().schedule(() -> send(enriched, key, payload, attempt + 1), backoffMs(attempt), TimeUnit.MILLISECONDS);
+                retried.incrementAndGet();
+                return;
+            } catch (RejectedExecutionException rejected) {
+                ex.addSuppressed(rejected);
+            }
+        }
+        failed.incrementAndGet();
+        inFlightPermits.release();
+        notifyFailure(enriched, ex);
+    }
+
+    private ProducerRecord<String, V> record(CanonicalAuditEnvelope enriched, String key, V payload) {
+        Header[] headers = headerEncoder.encode(enriched);
+        return new ProducerRecord<>(
+                properties.getKafka().getTopic(),
+                null,
+                key,
+                payload,
+                headers == null ? null : Arrays.asList(headers)
+        );
+    }
+
+    private void onAcknowledged(CanonicalAuditEnvelope enriched) {
+        acknowledged.incrementAndGet();
+        if (idempotencyPreFilter != null && properties.isEnforceIdempotency()) {
+            idempotencyPreFilter.remember(enriched.getIdempotencyKey());
+        }
+    }
+
+    private void notifyFailure(CanonicalAuditEnvelope enriched, Throwable ex) {
+        try {
+            failureHandler.onFailure(enriched, ex);
+        } catch (RuntimeException handlerEx) {
+            log.error("Kafka publish failure handler threw. eventType={}", enriched.getEventType(), handlerEx);
+        }
+    }
+
+    private long backoffMs(int attempt) {
+        return properties.getKafka().getRetryBackoffMs() << Math.min(attempt, 10);
+    }
+
+    private boolean isRetriable(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RetriableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ScheduledExecutorService retryScheduler() {
+        ScheduledExecutorService scheduler = retryScheduler;
+        if (scheduler == null) {
+            synchronized (this) {
+                scheduler = retryScheduler;
+                if (scheduler == null) {
+                    scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                        Thread thread = new Thread(runnable, "auditx-kafka-retry");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    retryScheduler = scheduler;
+                }
+            }
+        }
+        return scheduler;
+    }
+
+    private boolean isDirect() {
+        return properties.getKafka().getSendMode() == KafkaSendMode.DIRECT;
+    }
+
+    private boolean isRecentDuplicate(CanonicalAuditEnvelope enriched) {
+        if (idempotencyPreFilter == null || !properties.isEnforceIdempotency()) {
+            return false;
+        }
+        if (idempotencyPreFilter.isRecentDuplicate(enriched.getIdempotencyKey())) {
+            log.debug("Duplicate audit event rejected by pre-filter. idempotencyKey={}", enriched.getIdempotencyKey());
+            return true;
+        }
+        return false;
     }
 
     private CanonicalAuditEnvelope enrichDefaults(CanonicalAuditEnvelope envelope) {
@@ -75,30 +357,6 @@ public class KafkaAuditPublisher implements AuditPublisher {
         return envelope.getEventId().toString();
     }
 
-    private String toJson(CanonicalAuditEnvelope envelope) {
-        try {
-            return objectMapper.writeValueAsString(envelope);
-        } catch (JsonProcessingException ex) {
-            throw new IllegalStateException("Failed to serialize audit envelope for Kafka publish", ex);
-        }
-    }
-
-    private void validate(CanonicalAuditEnvelope envelope) {
-        if (isBlank(envelope.getConversationId())) {
-            throw new IllegalArgumentException("conversationId is required and must be a UUID");
-        }
-
-        try {
-            UUID.fromString(envelope.getConversationId());
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException("conversationId must be a valid UUID", ex);
-        }
-
-        if (envelope.getSource() == AuditSource.UI && isBlank(envelope.getSessionId())) {
-            throw new IllegalArgumentException("sessionId is required when source is UI");
-        }
-    }
-
     private boolean isBlank(String value) {
         return Objects.isNull(value) || value.isBlank();
     }
@@ -0,0 +1,85 @@
+package com.github.salilvnair.auditx.starter.provider;
+
+import com.github.salilvnair.auditx.core.model.AuditSeverity;
+import com.github.salilvnair.auditx.core.model.AuditSource;
+import com.github.salilvnair.auditx.core.model.CanonicalAuditEnvelope;
+import com.github.salilvnair.auditx.starter.config.KafkaHeaderField;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Copies the configured envelope fields into Kafka record headers as UTF-8 bytes so consumers can filter and route
+ * without deserializing the payload. Blank fields are omitted; enum values are encoded once up front.
+ */
+public class KafkaHeaderEncoder {
+    private static final Header[] NO_HEADERS = new Header[0];
+    private static final Map<AuditSeverity, byte[]> SEVERITY_BYTES = enumBytes(AuditSeverity.class);
+    private static final Map<AuditSource, byte[]> SOURCE_BYTES = enumBytes(AuditSource.class);
+
+    private final KafkaHeaderField[] fields;
+
+    public KafkaHeaderEncoder(List<KafkaHeaderField> fields) {
+        this.fields = fields == null || fields.isEmpty()
+                ? new KafkaHeaderField[0]
+                : EnumSet.copyOf(fields).toArray(KafkaHeaderField[]::new);
+    }
+
+    /**
+     * @return the headers, or {@code null} when no fields are configured
+     */
+    public Header[] encode(CanonicalAuditEnvelope envelope) {
+        if (fields.length == 0) {
+            return null;
+        }
+        Header[] headers = new Header[fields.length];
+        int count = 0;
+        for (KafkaHeaderField field : fields) {
+            byte[] value = value(field, envelope);
+            if (value != null) {
+                headers[count++] = new RecordHeader(field.headerName(), value);
+            }
+        }
+        if (count == 0) {
+            return NO_HEADERS;
+        }
+        if (count < headers.length) {
+            Header[] trimmed = new Header[count];
+            System.arraycopy(headers, 0, trimmed, 0, count);
+            return trimmed;
+        }
+        return headers;
+    }
+
+    private byte[] value(KafkaHeaderField field, CanonicalAuditEnvelope envelope) {
+        return switch (field) {
+            case EVENT_TYPE -> utf8(envelope.getEventType());
+            case SEVERITY -> envelope.getSeverity() == null ? null : SEVERITY_BYTES.get(envelope.getSeverity());
+            case SOURCE -> envelope.getSource() == null ? null : SOURCE_BYTES.get(envelope.getSource());
+            case CONVERSATION_ID -> utf8(envelope.getConversationId());
+            case INTERACTION_ID -> utf8(envelope.getInteractionId());
+            case GROUP_ID -> utf8(envelope.getGroupId());
+            case TRACE_ID -> utf8(envelope.getTraceId());
+            case SERVICE_NAME -> utf8(envelope.getServiceName());
+            case ENVIRONMENT -> utf8(envelope.getEnvironment());
+            case IDEMPOTENCY_KEY -> utf8(envelope.getIdempotencyKey());
+        };
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null || value.isBlank() ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static <E extends Enum<E>> Map<E, byte[]> enumBytes(Class<E> type) {
+        Map<E, byte[]> bytes = new EnumMap<>(type);
+        for (E constant : type.getEnumConstants()) {
+            bytes.put(constant, constant.name().getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,71 @@
+package com.github.salilvnair.auditx.starter.provider;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.github.salilvnair.auditx.core.model.CanonicalAuditEnvelope;
+import com.github.salilvnair.auditx.starter.config.KafkaPayloadFormat;
+import com.github.salilvnair.auditx.starter.json.AuditJson;
+
+/**
+ * Turns an envelope into the Kafka record value.
+ */
+@FunctionalInterface
+public interface KafkaPayloadEncoder<V> {
+    V encode(CanonicalAuditEnvelope envelope);
+
+    static KafkaPayloadEncoder<String> jsonString(ObjectMapper objectMapper) {
+        ObjectWriter writer = objectMapper.writerFor(CanonicalAuditEnvelope.class);
+        return envelope -> {
+            try {
+                return writer.writeValueAsString(envelope);
+            } catch (JsonProcessingException ex) {
+                throw new IllegalStateException("Failed to serialize audit envelope for Kafka publish", ex);
+            }
+        };
+    }
+
+    /**
+     * Encodes straight to bytes with a pre-built {@link ObjectWriter}. Smile and CBOR need the matching
+     * {@code jackson-dataformat-*} module on the classpath.
+     */
+    static KafkaPayloadEncoder<byte[]> bytes(KafkaPayloadFormat format) {
+        ObjectWriter writer = mapper(format).writerFor(CanonicalAuditEnvelope.class);
+        return envelope -> {
+            try {
+                return writer.writeValueAsBytes(envelope);
+            } catch (JsonProcessingException ex) {
+                throw new IllegalStateException("Failed to serialize audit envelope for Kafka publish as " + format, ex);
+            }
+        };
+    }
+
+    /**
+     * Mapper for the wire format; both JSON variants share {@link AuditJson#mapper()}.
+     */
+    static ObjectMapper mapper(KafkaPayloadFormat format) {
+        return switch (format) {
+            case SMILE -> Formats.smile();
+            case CBOR -> Formats.cbor();
+            case JSON, JSON_STRING -> AuditJson.mapper();
+        };
+    }
+
+    /**
+     * Separate class so the optional dataformat modules are only loaded when selected.
+     */
+    final class Formats {
+        private Formats() {
+        }
+
+        static ObjectMapper smile() {
+            return AuditJson.configure(SmileMapper.builder());
+        }
+
+        static ObjectMapper cbor() {
+            return AuditJson.configure(CBORMapper.builder());
+        }
+    }
+}
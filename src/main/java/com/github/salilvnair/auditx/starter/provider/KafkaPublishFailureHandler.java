@@ -0,0 +1,12 @@
+package com.github.salilvnair.auditx.starter.provider;
+
+import com.github.salilvnair.auditx.core.model.CanonicalAuditEnvelope;
+
+/**
+ * Receives Kafka audit events that could not be delivered after retries, or could not get an in-flight permit.
+ * Called from producer callback threads: implementations must not block.
+ */
+@FunctionalInterface
+public interface KafkaPublishFailureHandler {
+    void onFailure(CanonicalAuditEnvelope envelope, Throwable error);
+}
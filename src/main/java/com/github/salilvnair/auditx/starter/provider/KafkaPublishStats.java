@@ -0,0 +1,15 @@
+package com.github.salilvnair.auditx.starter.provider;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class KafkaPublishStats {
+    int inFlight;
+    long sent;
+    long acknowledged;
+    long retried;
+    long failed;
+    long permitTimeouts;
+}
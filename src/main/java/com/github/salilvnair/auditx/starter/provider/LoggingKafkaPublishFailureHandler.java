@@ -0,0 +1,18 @@
+package com.github.salilvnair.auditx.starter.provider;
+
+import com.github.salilvnair.auditx.core.model.CanonicalAuditEnvelope;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class LoggingKafkaPublishFailureHandler implements KafkaPublishFailureHandler {
+    @Override
+    public void onFailure(CanonicalAuditEnvelope envelope, Throwable error) {
+        log.error(
+                "Kafka audit publish failed. eventType={}, conversationId={}, idempotencyKey={}",
+                envelope.getEventType(),
+                envelope.getConversationId(),
+                envelope.getIdempotencyKey(),
+                error
+        );
+    }
+}
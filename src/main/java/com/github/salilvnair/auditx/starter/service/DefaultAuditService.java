@@ -40,22 +40,7 @@ public class DefaultAuditService implements AuditService {
     }
 
     private void publishWithSeverity(AuditWriteRequest request, AuditSeverity severity) {
-        CanonicalAuditEnvelope envelope = CanonicalAuditEnvelope.builder()
-                .eventType(request.getEventType())
-                .severity(severity)
-                .source(request.getSource())
-                .sessionId(request.getSessionId())
-                .conversationId(request.getConversationId())
-                .groupId(request.getGroupId())
-                .interactionId(request.getInteractionId())
-                .traceId(request.getTraceId())
-                .spanId(request.getSpanId())
-                .idempotencyKey(request.getIdempotencyKey())
-                .businessKeys(request.getBusinessKeys())
-                .extraMap(request.getExtraMap())
-                .actor(request.getActor())
-                .errorMap(request.getErrorMap())
-                .build();
+        CanonicalAuditEnvelope envelope = CanonicalAuditEnvelope.fromWriteRequest(request, severity);
 
         auditPublisher.publish(envelope);
     }
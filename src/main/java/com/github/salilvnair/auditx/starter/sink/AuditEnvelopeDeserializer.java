@@ -0,0 +1,35 @@
+package com.github.salilvnair.auditx.starter.sink;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.salilvnair.auditx.core.model.CanonicalAuditEnvelope;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+
+/**
+ * Reads the record value straight into a {@link CanonicalAuditEnvelope}. Undecodable values come back as
+ * {@code null} so one bad record cannot stall the partition; the sink counts and skips them.
+ */
+@Slf4j
+public class AuditEnvelopeDeserializer implements Deserializer<CanonicalAuditEnvelope> {
+    private final ObjectReader reader;
+
+    public AuditEnvelopeDeserializer(ObjectMapper objectMapper) {
+        this.reader = objectMapper.readerFor(CanonicalAuditEnvelope.class);
+    }
+
+    @Override
+    public CanonicalAuditEnvelope deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return reader.readValue(data);
+        } catch (IOException ex) {
+            log.warn("Skipping undecodable audit record on topic {}: {}", topic, ex.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.github.salilvnair.auditx.starter.sink;
+
+import com.github.salilvnair.auditx.core.model.CanonicalAuditEnvelope;
+import com.github.salilvnair.auditx.core.service.IdempotencyKeyFactory;
+import com.github.salilvnair.auditx.starter.config.AuditConnectorProperties;
+import com.github.salilvnair.auditx.starter.persistence.AuditEventBulkLoader;
+import com.github.salilvnair.auditx.starter.provider.AuditEnvelopeValidator;
+import com.github.salilvnair.auditx.starter.provider.KafkaPayloadEncoder;
+import com.github.salilvnair.auditx.starter.support.TransientFailures;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.BatchAcknowledgingMessageListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Consumes the audit topic and lands each poll batch in the event table through {@link AuditEventBulkLoader}
+ * (COPY on PostgreSQL, one idempotent JDBC batch elsewhere). Offsets are acknowledged only after the batch has been
+ * committed, so delivery is at-least-once and redeliveries are absorbed by the {@code idempotency_key} constraint.
+ * <p>
+ * Envelopes that fail {@link AuditEnvelopeValidator} are skipped and counted as rejected. A batch that fails for a
+ * transient reason (database down, lock timeout) is retried with exponential backoff for as long as it takes. Any
+ * other failure is narrowed down to the first record that cannot be written; that record is retried
+ * {@code max-write-retries} times, then logged and skipped as unwritable so it cannot block its partition.
+ * <p>
+ * Consumer settings (bootstrap servers, security) come from the application's {@link ConsumerFactory}; group id,
+ * poll size and manual offset commits are set here.
+ */
+@Slf4j
+public class AuditKafkaSink implements SmartLifecycle {
+    private final AuditEventBulkLoader bulkLoader;
+    private final IdempotencyKeyFactory idempotencyKeyFactory;
+    private final ConcurrentMessageListenerContainer<String, CanonicalAuditEnvelope> container;
+
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong inserted = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong undecodable = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong unwritable = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+
+    public AuditKafkaSink(
+            ConsumerFactory<?, ?> source,
+            AuditEventBulkLoader bulkLoader,
+            IdempotencyKeyFactory idempotencyKeyFactory,
+            AuditConnectorProperties properties
+    ) {
+        AuditConnectorProperties.KafkaSink config = properties.getKafkaSink();
+        this.bulkLoader = bulkLoader;
+        this.idempotencyKeyFactory = idempotencyKeyFactory;
+
+        Map<String, Object> consumerConfig = new HashMap<>(source.getConfigurationProperties());
+        consumerConfig.put(ConsumerConfig.GROUP_ID_CONFIG, config.getGroupId());
+        consumerConfig.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        consumerConfig.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, Math.max(1, config.getMaxPollRecords()));
+        DefaultKafkaConsumerFactory<String, CanonicalAuditEnvelope> consumerFactory = new DefaultKafkaConsumerFactory<>(
+                consumerConfig,
+                new StringDeserializer(),
+                new AuditEnvelopeDeserializer(KafkaPayloadEncoder.mapper(config.getPayloadFormat()))
+        );
+
+        String topic = config.getTopic() == null || config.getTopic().isBlank()
+                ? properties.getKafka().getTopic()
+                : config.getTopic();
+        ContainerProperties containerProperties = new ContainerProperties(topic);
+        containerProperties.setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        containerProperties.setMessageListener((BatchAcknowledgingMessageListener<String, CanonicalAuditEnvelope>) this::write);
+
+        long initialInterval = Math.max(1, config.getRetryBackoffMs());
+        long maxInterval = Math.max(initialInterval, config.getMaxRetryBackoffMs());
+        ExponentialBackOff backOff = new ExponentialBackOff(initialInterval, 2.0);
+        backOff.setMaxInterval(maxInterval);
+        ExponentialBackOffWithMaxRetries writeBackOff = new ExponentialBackOffWithMaxRetries(Math.max(0, config.getMaxWriteRetries()));
+        writeBackOff.setInitialInterval(initialInterval);
+        writeBackOff.setMultiplier(2.0);
+        writeBackOff.setMaxInterval(maxInterval);
+
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(this::recover, backOff);
+        errorHandler.setBackOffFunction((record, ex) -> TransientFailures.isTransient(ex) ? null : writeBackOff);
+        // write() already logs each failure; the handler's "seek to current" rethrow is only the retry signal
+        errorHandler.setLogLevel(KafkaException.Level.DEBUG);
+
+        this.container = new ConcurrentMessageListenerContainer<>(consumerFactory, containerProperties);
+        this.container.setConcurrency(Math.max(1, config.getConcurrency()));
+        this.container.setCommonErrorHandler(errorHandler);
+        this.container.setBeanName("auditx-kafka-sink");
+    }
+
+    @Override
+    public void start() {
+        container.start();
+    }
+
+    @Override
+    public void stop() {
+        container.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return container.isRunning();
+    }
+
+    public AuditKafkaSinkStats stats() {
+        return AuditKafkaSinkStats.builder()
+                .batches(batches.get())
+                .received(received.get())
+                .inserted(inserted.get())
+                .duplicates(duplicates.get())
+                .undecodable(undecodable.get())
+                .rejected(rejected.get())
+                .unwritable(unwritable.get())
+                .failedBatches(failedBatches.get())
+                .build();
+    }
+
+    private void write(List<ConsumerRecord<String, CanonicalAuditEnvelope>> records, Acknowledgment acknowledgment) {
+        List<ConsumerRecord<String, CanonicalAuditEnvelope>> accepted = new ArrayList<>(records.size());
+        List<CanonicalAuditEnvelope> envelopes = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, CanonicalAuditEnvelope> record : records) {
+            CanonicalAuditEnvelope envelope = record.value();
+            if (envelope == null) {
+                undecodable.incrementAndGet();
+                continue;
+            }
+            try {
+                AuditEnvelopeValidator.validate(envelope);
+            } catch (IllegalArgumentException ex) {
+                rejected.incrementAndGet();
+                log.warn("Audit sink rejected {}-{}@{}: {}", record.topic(), record.partition(), record.offset(), ex.getMessage());
+                continue;
+            }
+            accepted.add(record);
+            envelopes.add(withIdempotencyKey(envelope));
+        }
+
+        int count;
+        try {
+            count = bulkLoader.load(envelopes);
+        } catch (RuntimeException ex) {
+            failedBatches.incrementAndGet();
+            if (TransientFailures.isTransient(ex)) {
+                log.warn("Audit sink batch of {} events failed, offsets not committed", envelopes.size(), ex);
+                throw ex;
+            }
+            count = loadOneByOne(accepted, envelopes);
+        }
+
+        acknowledgment.acknowledge();
+        batches.incrementAndGet();
+        received.addAndGet(records.size());
+        inserted.addAndGet(count);
+        duplicates.addAndGet(envelopes.size() - count);
+    }
+
+    /**
+     * Writes the batch one event at a time to find the record that cannot be written. Records before it are kept;
+     * the error handler commits up to it and retries from it.
+     */
+    private int loadOneByOne(List<ConsumerRecord<String, CanonicalAuditEnvelope>> records, List<CanonicalAuditEnvelope> envelopes) {
+        int count = 0;
+        for (int i = 0; i < envelopes.size(); i++) {
+            try {
+                count += bulkLoader.load(List.of(envelopes.get(i)));
+            } catch (RuntimeException ex) {
+                if (TransientFailures.isTransient(ex)) {
+                    throw ex;
+                }
+                inserted.addAndGet(count);
+                duplicates.addAndGet(i - count);
+                ConsumerRecord<String, CanonicalAuditEnvelope> record = records.get(i);
+                log.warn("Audit sink cannot write {}-{}@{}", record.topic(), record.partition(), record.offset(), ex);
+                throw new BatchListenerFailedException("Audit event could not be written", ex, record);
+            }
+        }
+        return count;
+    }
+
+    private void recover(ConsumerRecord<?, ?> record, Exception ex) {
+        unwritable.incrementAndGet();
+        log.error("Audit sink skipped unwritable event {}-{}@{} after retries", record.topic(), record.partition(), record.offset(), ex);
+    }
+
+    private CanonicalAuditEnvelope withIdempotencyKey(CanonicalAuditEnvelope envelope) {
+        String key = envelope.getIdempotencyKey();
+        if (key == null || key.isBlank()) {
+            return envelope.withIdempotencyKey(idempotencyKeyFactory.create(envelope));
+        }
+        return envelope;
+    }
+}
@@ -0,0 +1,17 @@
+package com.github.salilvnair.auditx.starter.sink;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class AuditKafkaSinkStats {
+    long batches;
+    long received;
+    long inserted;
+    long duplicates;
+    long undecodable;
+    long rejected;
+    long unwritable;
+    long failedBatches;
+}
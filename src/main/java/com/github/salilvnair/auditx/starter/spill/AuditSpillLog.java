@@ -0,0 +1,377 @@
+package com.github.salilvnair.auditx.starter.spill;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.salilvnair.auditx.core.model.CanonicalAuditEnvelope;
+import com.github.salilvnair.auditx.starter.config.AuditConnectorProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Local append-only spill log for envelopes the configured sink could not take.
+ * <p>
+ * The log is a directory of fixed-size, memory-mapped segments. Each record is {@code [length][crc32][json]}; the
+ * length is written last so a torn append reads as the end of the segment, and the checksum rejects anything else
+ * that did not make it to disk intact. Replayed records are tombstoned in place by negating their length, so a
+ * restart resumes where replay stopped. Fully replayed segments are deleted, and appends are refused once the disk
+ * budget is used up rather than deleting events that were not replayed yet.
+ */
+@Slf4j
+public class AuditSpillLog implements Closeable {
+    private static final String SEGMENT_PREFIX = "auditx-spill-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int HEADER_BYTES = 8;
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            log.debug("sun.misc.Unsafe#invokeCleaner not available, spill segments are unmapped by the garbage collector");
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final long maxDiskBytes;
+    private final boolean forceOnAppend;
+    private final ObjectMapper objectMapper;
+
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private long diskBytes;
+    private Segment writeSegment;
+    private Segment readSegment;
+    private int readPosition;
+    private boolean closed;
+    private boolean budgetExhausted;
+
+    private long spilled;
+    private long rejected;
+    private long replayed;
+    private long discarded;
+    private long corrupt;
+
+    public AuditSpillLog(AuditConnectorProperties.Spill config, ObjectMapper objectMapper) {
+        this.directory = Path.of(config.getDirectory());
+        this.segmentBytes = Math.max(64 * 1024, config.getSegmentBytes());
+        this.maxDiskBytes = Math.max(segmentBytes, config.getMaxDiskBytes());
+        this.forceOnAppend = config.isForceOnAppend();
+        this.objectMapper = objectMapper;
+        openExistingSegments();
+    }
+
+    /**
+     * @return false when the log is closed, over its disk budget or the envelope cannot be encoded
+     */
+    public boolean append(CanonicalAuditEnvelope envelope) {
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(envelope);
+        } catch (JsonProcessingException ex) {
+            log.error("Failed to encode audit envelope for the spill log. eventType={}", envelope.getEventType(), ex);
+            return reject();
+        }
+        int recordBytes = HEADER_BYTES + payload.length;
+        if (recordBytes > segmentBytes) {
+            log.error("Audit envelope of {} bytes exceeds spill segment size {}. eventType={}",
+                    payload.length, segmentBytes, envelope.getEventType());
+            return reject();
+        }
+
+        synchronized (this) {
+            if (closed) {
+                return reject();
+            }
+            if (writeSegment == null || writeSegment.remaining() < recordBytes) {
+                if (!roll()) {
+                    return reject();
+                }
+            }
+            writeSegment.append(payload, checksum(payload), forceOnAppend);
+            spilled++;
+            budgetExhausted = false;
+            return true;
+        }
+    }
+
+    /**
+     * Oldest record not yet replayed, or {@code null} when the log is drained. Not consumed until
+     * {@link #commit(SpillRecord)} or {@link #discard(SpillRecord)}; single reader only. The record is located under
+     * the lock and decoded outside it, so appends are not held up by JSON parsing.
+     */
+    public SpillRecord next() {
+        while (true) {
+            PendingRecord pending = nextPending();
+            if (pending == null) {
+                return null;
+            }
+            CanonicalAuditEnvelope envelope = decode(pending);
+            if (envelope != null) {
+                return new SpillRecord(pending.segment(), pending.position(), pending.payload().length, envelope);
+            }
+            // intact but undecodable: discard so replay does not stall on it
+            synchronized (this) {
+                if (tombstone(pending.segment(), pending.position(), pending.payload().length)) {
+                    corrupt++;
+                }
+            }
+        }
+    }
+
+    private synchronized PendingRecord nextPending() {
+        while (!closed) {
+            if (readSegment == null) {
+                Map.Entry<Long, Segment> oldest = segments.firstEntry();
+                if (oldest == null) {
+                    return null;
+                }
+                readSegment = oldest.getValue();
+                readPosition = 0;
+            }
+
+            Segment segment = readSegment;
+            int limit = segment == writeSegment ? segment.writePosition : segment.capacity;
+            if (readPosition + HEADER_BYTES <= limit) {
+                int length = segment.buffer.getInt(readPosition);
+                if (length < 0 && readPosition + HEADER_BYTES - (long) length <= limit) {
+                    readPosition += HEADER_BYTES - length;
+                    continue;
+                }
+                if (length > 0 && readPosition + HEADER_BYTES + (long) length <= limit) {
+                    byte[] payload = new byte[length];
+                    segment.buffer.get(readPosition + HEADER_BYTES, payload);
+                    if (checksum(payload) == segment.buffer.getInt(readPosition + 4)) {
+                        return new PendingRecord(segment.sequence, segment.path, readPosition, payload);
+                    }
+                    corrupt++;
+                    log.warn("Spill record checksum mismatch, skipping rest of segment {}", segment.path);
+                }
+            }
+
+            if (segment == writeSegment) {
+                return null;
+            }
+            // end of a sealed segment: everything in it was replayed, discarded or torn
+            deleteSegment(segment);
+            readSegment = null;
+        }
+        return null;
+    }
+
+    public synchronized void commit(SpillRecord record) {
+        if (tombstone(record.segment(), record.position(), record.length())) {
+            replayed++;
+        }
+    }
+
+    public synchronized void discard(SpillRecord record) {
+        if (tombstone(record.segment(), record.position(), record.length())) {
+            discarded++;
+        }
+    }
+
+    public synchronized AuditSpillStats stats() {
+        return AuditSpillStats.builder()
+                .segments(segments.size())
+                .diskBytes(diskBytes)
+                .spilled(spilled)
+                .rejected(rejected)
+                .replayed(replayed)
+                .discarded(discarded)
+                .corrupt(corrupt)
+                .build();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (writeSegment != null) {
+            writeSegment.buffer.force();
+        }
+        for (Segment segment : segments.values()) {
+            unmap(segment);
+        }
+        readSegment = null;
+        writeSegment = null;
+    }
+
+    private CanonicalAuditEnvelope decode(PendingRecord pending) {
+        try {
+            return objectMapper.readValue(pending.payload(), CanonicalAuditEnvelope.class);
+        } catch (IOException ex) {
+            log.error("Undecodable spill record in {} at {}, discarding", pending.path(), pending.position(), ex);
+            return null;
+        }
+    }
+
+    private boolean tombstone(long sequence, int position, int length) {
+        Segment segment = readSegment;
+        if (closed || segment == null || segment.sequence != sequence || readPosition != position) {
+            return false;
+        }
+        segment.buffer.putInt(position, -length);
+        if (forceOnAppend) {
+            segment.buffer.force(position, 4);
+        }
+        readPosition += HEADER_BYTES + length;
+        return true;
+    }
+
+    private boolean roll() {
+        if (diskBytes + segmentBytes > maxDiskBytes) {
+            if (!budgetExhausted) {
+                budgetExhausted = true;
+                log.error("Audit spill log disk budget of {} bytes exhausted, new events are rejected until replay catches up",
+                        maxDiskBytes);
+            }
+            return false;
+        }
+        if (writeSegment != null) {
+            writeSegment.buffer.force();
+        }
+        long sequence = segments.isEmpty() ? 1 : segments.lastKey() + 1;
+        Path path = directory.resolve(SEGMENT_PREFIX + String.format("%020d", sequence) + SEGMENT_SUFFIX);
+        try {
+            Segment segment = Segment.map(sequence, path, segmentBytes);
+            segments.put(sequence, segment);
+            diskBytes += segment.capacity;
+            writeSegment = segment;
+            return true;
+        } catch (IOException ex) {
+            log.error("Failed to create audit spill segment {}", path, ex);
+            return false;
+        }
+    }
+
+    private void deleteSegment(Segment segment) {
+        segments.remove(segment.sequence);
+        diskBytes -= segment.capacity;
+        // the mapping would otherwise hold the file's disk space until the buffer is garbage collected
+        unmap(segment);
+        try {
+            Files.deleteIfExists(segment.path);
+        } catch (IOException ex) {
+            log.warn("Failed to delete replayed audit spill segment {}", segment.path, ex);
+        }
+    }
+
+    private void openExistingSegments() {
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path path : (Iterable<Path>) files::iterator) {
+                    String name = path.getFileName().toString();
+                    if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+                        continue;
+                    }
+                    long sequence = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                    Segment segment = Segment.map(sequence, path, (int) Files.size(path));
+                    segments.put(sequence, segment);
+                    diskBytes += segment.capacity;
+                }
+            }
+        } catch (IOException | NumberFormatException ex) {
+            throw new IllegalStateException("Failed to open audit spill log in " + directory, ex);
+        }
+        if (!segments.isEmpty()) {
+            log.info("Audit spill log opened with {} segment(s) pending replay in {}", segments.size(), directory);
+        }
+    }
+
+    private boolean reject() {
+        synchronized (this) {
+            rejected++;
+        }
+        return false;
+    }
+
+    /**
+     * Releases the mapping right away through {@code sun.misc.Unsafe#invokeCleaner}; the buffer must not be touched
+     * afterwards. Falls back to leaving it to the garbage collector when that is not available.
+     */
+    private static void unmap(Segment segment) {
+        if (INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, segment.buffer);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            log.debug("Failed to unmap audit spill segment {}", segment.path, ex);
+        }
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Existing segments are only read; new events always go to a fresh segment.
+     */
+    private static final class Segment {
+        private final long sequence;
+        private final Path path;
+        private final MappedByteBuffer buffer;
+        private final int capacity;
+        private int writePosition;
+
+        private Segment(long sequence, Path path, MappedByteBuffer buffer) {
+            this.sequence = sequence;
+            this.path = path;
+            this.buffer = buffer;
+            this.capacity = buffer.capacity();
+        }
+
+        static Segment map(long sequence, Path path, int size) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                return new Segment(sequence, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            }
+        }
+
+        int remaining() {
+            return capacity - writePosition;
+        }
+
+        void append(byte[] payload, int checksum, boolean force) {
+            int position = writePosition;
+            buffer.putInt(position + 4, checksum);
+            buffer.put(position + HEADER_BYTES, payload);
+            // length last: a record without it reads as unwritten space
+            buffer.putInt(position, payload.length);
+            writePosition = position + HEADER_BYTES + payload.length;
+            if (force) {
+                buffer.force(position, HEADER_BYTES + payload.length);
+            }
+        }
+    }
+
+    private record PendingRecord(long segment, Path path, int position, byte[] payload) {
+    }
+}
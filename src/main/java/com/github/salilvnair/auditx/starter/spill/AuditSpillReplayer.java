@@ -0,0 +1,110 @@
+package com.github.salilvnair.auditx.starter.spill;
+
+import com.github.salilvnair.auditx.core.service.AuditPublisher;
+import com.github.salilvnair.auditx.starter.config.AuditConnectorProperties;
+import com.github.salilvnair.auditx.starter.support.TransientFailures;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Background thread that drains the {@link AuditSpillLog} back into the configured {@link AuditPublisher} through
+ * {@link AuditPublisher#publishSync}, at a bounded rate. While the sink is unavailable the same record is retried with
+ * exponential backoff; events that fail for any other reason (invalid, too large for a column) are discarded.
+ */
+@Slf4j
+public class AuditSpillReplayer implements SmartLifecycle {
+    private final AuditSpillLog spillLog;
+    private final AuditPublisher publisher;
+    private final long intervalNanos;
+    private final long idlePollMs;
+    private final long backoffMs;
+    private final long maxBackoffMs;
+    private final AtomicLong replayFailures = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread replayer;
+
+    public AuditSpillReplayer(AuditSpillLog spillLog, AuditPublisher publisher, AuditConnectorProperties.Spill config) {
+        this.spillLog = spillLog;
+        this.publisher = publisher;
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, config.getReplayRatePerSecond());
+        this.idlePollMs = Math.max(10, config.getIdlePollMs());
+        this.backoffMs = Math.max(10, config.getReplayBackoffMs());
+        this.maxBackoffMs = Math.max(backoffMs, config.getMaxReplayBackoffMs());
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        replayer = new Thread(this::replayLoop, "auditx-spill-replayer");
+        replayer.setDaemon(true);
+        replayer.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (replayer != null) {
+            replayer.interrupt();
+            try {
+                replayer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            replayer = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public long getReplayFailureCount() {
+        return replayFailures.get();
+    }
+
+    private void replayLoop() {
+        long backoff = backoffMs;
+        while (running) {
+            SpillRecord record = spillLog.next();
+            if (record == null) {
+                sleep(idlePollMs);
+                continue;
+            }
+            try {
+                publisher.publishSync(record.envelope());
+                spillLog.commit(record);
+                backoff = backoffMs;
+                LockSupport.parkNanos(intervalNanos);
+            } catch (Exception ex) {
+                if (!TransientFailures.isTransient(ex)) {
+                    log.error("Spilled audit event cannot be written, discarding. eventType={}, conversationId={}",
+                            record.envelope().getEventType(), record.envelope().getConversationId(), ex);
+                    spillLog.discard(record);
+                    continue;
+                }
+                long failures = replayFailures.incrementAndGet();
+                log.warn("Audit spill replay failed, retrying in {} ms. failures={}, cause={}", backoff, failures, ex.toString());
+                sleep(backoff);
+                backoff = Math.min(backoff * 2, maxBackoffMs);
+            }
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
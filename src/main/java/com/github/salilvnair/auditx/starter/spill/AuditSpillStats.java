@@ -0,0 +1,16 @@
+package com.github.salilvnair.auditx.starter.spill;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class AuditSpillStats {
+    int segments;
+    long diskBytes;
+    long spilled;
+    long rejected;
+    long replayed;
+    long discarded;
+    long corrupt;
+}
@@ -0,0 +1,9 @@
+package com.github.salilvnair.auditx.starter.spill;
+
+import com.github.salilvnair.auditx.core.model.CanonicalAuditEnvelope;
+
+/**
+ * A spilled envelope and its position in the log, handed out by {@link AuditSpillLog#next()}.
+ */
+public record SpillRecord(long segment, int position, int length, CanonicalAuditEnvelope envelope) {
+}
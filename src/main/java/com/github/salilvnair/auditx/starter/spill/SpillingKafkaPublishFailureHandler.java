@@ -0,0 +1,28 @@
+package com.github.salilvnair.auditx.starter.spill;
+
+import com.github.salilvnair.auditx.core.model.CanonicalAuditEnvelope;
+import com.github.salilvnair.auditx.starter.provider.KafkaPublishFailureHandler;
+import com.github.salilvnair.auditx.starter.support.TransientFailures;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Spills Kafka publishes that failed for a transient reason for later replay; anything else (or anything the spill log
+ * refuses) goes to the delegate.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SpillingKafkaPublishFailureHandler implements KafkaPublishFailureHandler {
+    private final AuditSpillLog spillLog;
+    private final KafkaPublishFailureHandler fallback;
+
+    @Override
+    public void onFailure(CanonicalAuditEnvelope envelope, Throwable error) {
+        if (TransientFailures.isTransient(error) && spillLog.append(envelope)) {
+            log.warn("Kafka audit publish failed, event spilled for replay. eventType={}, cause={}",
+                    envelope.getEventType(), error.toString());
+            return;
+        }
+        fallback.onFailure(envelope, error);
+    }
+}
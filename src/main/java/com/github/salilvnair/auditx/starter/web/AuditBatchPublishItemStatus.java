@@ -0,0 +1,16 @@
+package com.github.salilvnair.auditx.starter.web;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Outcome of one item of a batch publish; {@code index} is its zero-based position in the request body.
+ */
+@Value
+@Builder
+public class AuditBatchPublishItemStatus {
+    int index;
+    String status;
+    String mode;
+    String error;
+}
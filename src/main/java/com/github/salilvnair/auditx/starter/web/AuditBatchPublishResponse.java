@@ -0,0 +1,18 @@
+package com.github.salilvnair.auditx.starter.web;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class AuditBatchPublishResponse {
+    int acceptedCount;
+    int rejectedCount;
+    /**
+     * Set when the body stopped being readable (malformed JSON); items after the last listed one were not read.
+     */
+    boolean truncated;
+    List<AuditBatchPublishItemStatus> items;
+}
@@ -1,34 +1,113 @@
 package com.github.salilvnair.auditx.starter.web;
 
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.github.salilvnair.auditx.core.model.AuditSeverity;
 import com.github.salilvnair.auditx.core.model.AuditSource;
 import com.github.salilvnair.auditx.core.model.AuditWriteRequest;
 import com.github.salilvnair.auditx.core.service.AuditService;
+import com.github.salilvnair.auditx.starter.json.AuditJson;
+import com.github.salilvnair.auditx.starter.provider.AuditEnvelopeValidator;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/auditx/v1/events")
 @RequiredArgsConstructor
+@Slf4j
 public class AuditIngressController {
+    private static final ObjectReader BATCH_ITEM_READER = AuditJson.mapper().readerFor(AuditPublishApiRequest.class);
+    private static final String ACCEPTED = "ACCEPTED";
+    private static final String REJECTED = "REJECTED";
+
     private final AuditService auditService;
 
     @PostMapping("/publish")
     public Map<String, String> publish(@RequestBody AuditPublishApiRequest request) {
+        return ok(publishItem(request));
+    }
+
+    /**
+     * Takes a JSON array or NDJSON stream of {@code /publish} bodies. Items are read one at a time with the streaming
+     * parser and published as they are read, so the body is never held in memory whole. Each item gets its own
+     * status; malformed JSON ends the read and marks the response truncated.
+     */
+    @PostMapping(value = "/publish-batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public AuditBatchPublishResponse publishBatch(InputStream body) throws IOException {
+        List<AuditBatchPublishItemStatus> statuses = new ArrayList<>();
+        boolean truncated = false;
+
+        try (MappingIterator<AuditPublishApiRequest> items = BATCH_ITEM_READER.readValues(body)) {
+            while (true) {
+                int index = statuses.size();
+                AuditPublishApiRequest request;
+                try {
+                    if (!items.hasNextValue()) {
+                        break;
+                    }
+                    request = items.nextValue();
+                } catch (JsonParseException ex) {
+                    statuses.add(rejected(index, "Malformed JSON: " + ex.getOriginalMessage()));
+                    truncated = true;
+                    break;
+                } catch (JsonMappingException ex) {
+                    // the iterator skips past the offending item, so the rest of the body is still read
+                    statuses.add(rejected(index, "Invalid item: " + ex.getOriginalMessage()));
+                    continue;
+                }
+                statuses.add(request == null ? rejected(index, "Item is null") : publishBatchItem(index, request));
+            }
+        }
+
+        int accepted = (int) statuses.stream().filter(status -> ACCEPTED.equals(status.getStatus())).count();
+        return AuditBatchPublishResponse.builder()
+                .acceptedCount(accepted)
+                .rejectedCount(statuses.size() - accepted)
+                .truncated(truncated)
+                .items(statuses)
+                .build();
+    }
+
+    private AuditBatchPublishItemStatus publishBatchItem(int index, AuditPublishApiRequest request) {
+        try {
+            return AuditBatchPublishItemStatus.builder()
+                    .index(index)
+                    .status(ACCEPTED)
+                    .mode(publishItem(request))
+                    .build();
+        } catch (IllegalArgumentException ex) {
+            return rejected(index, ex.getMessage());
+        } catch (RuntimeException ex) {
+            log.error("Batch audit publish failed for item {}", index, ex);
+            return rejected(index, ex.getMessage());
+        }
+    }
+
+    private String publishItem(AuditPublishApiRequest request) {
         if (request.getCanonicalEnvelope() != null) {
+            AuditEnvelopeValidator.validate(request.getCanonicalEnvelope());
             auditService.publish(request.getCanonicalEnvelope());
-            return ok("canonicalEnvelope");
+            return "canonicalEnvelope";
         }
 
         if (request.getAuditWriteRequest() != null) {
+            AuditEnvelopeValidator.validate(request.getAuditWriteRequest());
             auditService.publish(request.getAuditWriteRequest());
-            return ok("auditWriteRequest");
+            return "auditWriteRequest";
         }
 
         if (isBlank(request.getStage()) || isBlank(request.getConversationId())) {
@@ -46,12 +125,22 @@ public class AuditIngressController {
             builder.extraMap(request.getMetadata());
         }
 
-        auditService.publish(builder.build());
-        return ok("stage+metadata");
+        AuditWriteRequest writeRequest = builder.build();
+        AuditEnvelopeValidator.validate(writeRequest);
+        auditService.publish(writeRequest);
+        return "stage+metadata";
+    }
+
+    private AuditBatchPublishItemStatus rejected(int index, String error) {
+        return AuditBatchPublishItemStatus.builder()
+                .index(index)
+                .status(REJECTED)
+                .error(error)
+                .build();
     }
 
     private Map<String, String> ok(String mode) {
-        return Collections.unmodifiableMap(Map.of("status", "ACCEPTED", "mode", mode));
+        return Collections.unmodifiableMap(Map.of("status", ACCEPTED, "mode", mode));
     }
 
     private boolean isBlank(String value) {
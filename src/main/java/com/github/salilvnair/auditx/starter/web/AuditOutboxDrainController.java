@@ -18,6 +18,7 @@ public class AuditOutboxDrainController {
     public OutboxDrainSummary drain(@RequestBody(required = false) AuditOutboxDrainRequest request) {
         Integer maxBatches = request == null ? null : request.getMaxBatches();
         Integer batchSize = request == null ? null : request.getBatchSize();
-        return outboxDrainService.drain(maxBatches, batchSize);
+        Integer workers = request == null ? null : request.getWorkers();
+        return outboxDrainService.drain(maxBatches, batchSize, workers);
     }
 }
@@ -8,4 +8,5 @@ import lombok.Setter;
 public class AuditOutboxDrainRequest {
     private Integer maxBatches;
     private Integer batchSize;
+    private Integer workers;
 }
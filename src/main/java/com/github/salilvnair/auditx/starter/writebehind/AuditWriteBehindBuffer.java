@@ -0,0 +1,280 @@
+package com.github.salilvnair.auditx.starter.writebehind;
+
+import com.github.salilvnair.auditx.core.model.CanonicalAuditEnvelope;
+import com.github.salilvnair.auditx.starter.config.AuditConnectorProperties;
+import com.github.salilvnair.auditx.starter.idempotency.RecentIdempotencyKeyFilter;
+import com.github.salilvnair.auditx.starter.persistence.AuditEventBulkLoader;
+import com.github.salilvnair.auditx.starter.persistence.AuditEventJdbcWriter;
+import com.github.salilvnair.auditx.starter.spill.AuditSpillLog;
+import com.github.salilvnair.auditx.starter.support.TransientFailures;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Write-behind group-commit buffer for the DB publisher.
+ * Producers enqueue on a bounded lock-free queue; a single writer thread flushes JDBC batches
+ * once {@code flushSize} envelopes are pending or {@code flushIntervalMs} has elapsed.
+ */
+@Slf4j
+public class AuditWriteBehindBuffer implements SmartLifecycle {
+    private final AuditEventJdbcWriter writer;
+    private final AuditEventBulkLoader bulkLoader;
+    private final TransactionOperations transactionOperations;
+    private final RecentIdempotencyKeyFilter idempotencyPreFilter;
+    private final AuditSpillLog spillLog;
+    private final boolean ignoreDuplicates;
+    private final int capacity;
+    private final int flushSize;
+    private final long flushIntervalNanos;
+    private final long shutdownFlushDeadlineMs;
+
+    private final ConcurrentLinkedQueue<CanonicalAuditEnvelope> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger offering = new AtomicInteger();
+    private final AtomicLong flushedCount = new AtomicLong();
+    private final AtomicLong duplicateCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    private volatile boolean running;
+    private volatile Thread writerThread;
+
+    public AuditWriteBehindBuffer(
+            AuditEventJdbcWriter writer,
+            AuditEventBulkLoader bulkLoader,
+            TransactionOperations transactionOperations,
+            RecentIdempotencyKeyFilter idempotencyPreFilter,
+            AuditConnectorProperties properties
+    ) {
+        this(writer, bulkLoader, transactionOperations, idempotencyPreFilter, null, properties);
+    }
+
+    /**
+     * @param spillLog receives events whose row-by-row retry failed; may be null
+     */
+    public AuditWriteBehindBuffer(
+            AuditEventJdbcWriter writer,
+            AuditEventBulkLoader bulkLoader,
+            TransactionOperations transactionOperations,
+            RecentIdempotencyKeyFilter idempotencyPreFilter,
+            AuditSpillLog spillLog,
+            AuditConnectorProperties properties
+    ) {
+        AuditConnectorProperties.WriteBehind config = properties.getWriteBehind();
+        this.spillLog = spillLog;
+        this.writer = writer;
+        this.bulkLoader = config.isUseBulkLoader() ? bulkLoader : null;
+        this.transactionOperations = transactionOperations;
+        this.idempotencyPreFilter = idempotencyPreFilter;
+        this.ignoreDuplicates = properties.isEnforceIdempotency();
+        this.capacity = Math.max(1, config.getBufferCapacity());
+        this.flushSize = Math.max(1, Math.min(config.getFlushSize(), capacity));
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, config.getFlushIntervalMs()));
+        this.shutdownFlushDeadlineMs = Math.max(0, config.getShutdownFlushDeadlineMs());
+    }
+
+    /**
+     * Enqueues an already validated and enriched envelope.
+     *
+     * @return false when the buffer is full or not running, in which case the caller must write the event itself
+     */
+    public boolean offer(CanonicalAuditEnvelope envelope) {
+        // registered before the running check so the writer's final drain waits for this enqueue
+        offering.incrementAndGet();
+        try {
+            if (!running) {
+                return false;
+            }
+
+            int current;
+            do {
+                current = pending.get();
+                if (current >= capacity) {
+                    return false;
+                }
+            } while (!pending.compareAndSet(current, current + 1));
+
+            queue.offer(envelope);
+            if (current + 1 == flushSize) {
+                LockSupport.unpark(writerThread);
+            }
+            return true;
+        } finally {
+            offering.decrementAndGet();
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::runWriter, "auditx-write-behind");
+        thread.setDaemon(true);
+        writerThread = thread;
+        thread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        Thread thread = writerThread;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(shutdownFlushDeadlineMs);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive() || !queue.isEmpty()) {
+            log.warn("Audit write-behind shutdown deadline of {} ms exceeded, {} events were not flushed",
+                    shutdownFlushDeadlineMs, pending.get());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    public long getFlushedCount() {
+        return flushedCount.get();
+    }
+
+    public long getDuplicateCount() {
+        return duplicateCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    private void runWriter() {
+        List<CanonicalAuditEnvelope> batch = new ArrayList<>(flushSize);
+        while (running) {
+            if (pending.get() < flushSize) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+            drainAndFlush(batch);
+        }
+        // producers that passed the running check before shutdown may still be enqueueing;
+        // once they are done, later offers see running == false and fall back to the caller
+        while (offering.get() > 0) {
+            Thread.onSpinWait();
+        }
+        drainAndFlush(batch);
+    }
+
+    private void drainAndFlush(List<CanonicalAuditEnvelope> batch) {
+        CanonicalAuditEnvelope next;
+        while ((next = queue.poll()) != null) {
+            pending.decrementAndGet();
+            batch.add(next);
+            if (batch.size() >= flushSize) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    private void flush(List<CanonicalAuditEnvelope> batch) {
+        try {
+            if (ignoreDuplicates && bulkLoader != null) {
+                int inserted = bulkLoader.load(batch);
+                flushedCount.addAndGet(inserted);
+                duplicateCount.addAndGet(batch.size() - inserted);
+                remember(batch);
+            } else if (ignoreDuplicates) {
+                int[] counts = transactionOperations.execute(status -> writer.insertBatchIfAbsent(batch));
+                recordBatchCounts(counts, batch.size());
+                remember(batch);
+            } else {
+                transactionOperations.executeWithoutResult(status -> writer.insertBatch(batch));
+                flushedCount.addAndGet(batch.size());
+            }
+        } catch (Exception ex) {
+            log.warn("Audit write-behind batch of {} events failed, retrying row by row", batch.size(), ex);
+            for (CanonicalAuditEnvelope envelope : batch) {
+                flushSingle(envelope);
+            }
+        }
+    }
+
+    private void recordBatchCounts(int[] counts, int batchSize) {
+        if (counts == null) {
+            flushedCount.addAndGet(batchSize);
+            return;
+        }
+        for (int count : counts) {
+            if (count == 0) {
+                duplicateCount.incrementAndGet();
+            } else {
+                flushedCount.incrementAndGet();
+            }
+        }
+    }
+
+    private void remember(List<CanonicalAuditEnvelope> batch) {
+        if (idempotencyPreFilter == null) {
+            return;
+        }
+        for (CanonicalAuditEnvelope envelope : batch) {
+            idempotencyPreFilter.remember(envelope.getIdempotencyKey());
+        }
+    }
+
+    private void flushSingle(CanonicalAuditEnvelope envelope) {
+        try {
+            if (ignoreDuplicates) {
+                if (writer.insertIfAbsent(envelope)) {
+                    flushedCount.incrementAndGet();
+                } else {
+                    duplicateCount.incrementAndGet();
+                }
+                if (idempotencyPreFilter != null) {
+                    idempotencyPreFilter.remember(envelope.getIdempotencyKey());
+                }
+                return;
+            }
+            writer.insert(envelope);
+            flushedCount.incrementAndGet();
+        } catch (Exception ex) {
+            if (spillLog != null && TransientFailures.isTransient(ex) && spillLog.append(envelope)) {
+                log.warn("Write-behind audit publish failed, event spilled for replay. eventType={}, cause={}",
+                        envelope.getEventType(), ex.toString());
+                return;
+            }
+            failedCount.incrementAndGet();
+            logFailure(envelope, ex);
+        }
+    }
+
+    private void logFailure(CanonicalAuditEnvelope envelope, Exception ex) {
+        log.error(
+                "Write-behind audit publish failed. eventType={}, conversationId={}, interactionId={}",
+                envelope.getEventType(),
+                envelope.getConversationId(),
+                envelope.getInteractionId(),
+                ex
+        );
+    }
+}
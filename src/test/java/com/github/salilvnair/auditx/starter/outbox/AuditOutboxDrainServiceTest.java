@@ -0,0 +1,180 @@
+package com.github.salilvnair.auditx.starter.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.salilvnair.auditx.core.model.AuditSeverity;
+import com.github.salilvnair.auditx.core.model.AuditSource;
+import com.github.salilvnair.auditx.core.model.AuditWriteRequest;
+import com.github.salilvnair.auditx.core.model.CanonicalAuditEnvelope;
+import com.github.salilvnair.auditx.core.persistence.AuditStorageProfile;
+import com.github.salilvnair.auditx.core.service.DefaultIdempotencyKeyFactory;
+import com.github.salilvnair.auditx.starter.config.AuditConnectorProperties;
+import com.github.salilvnair.auditx.starter.config.OutboxDrainMode;
+import com.github.salilvnair.auditx.starter.json.AuditJson;
+import com.github.salilvnair.auditx.starter.persistence.AuditEventJdbcWriter;
+import com.github.salilvnair.auditx.starter.provider.JpaAuditPublisher;
+import com.github.salilvnair.auditx.starter.service.DefaultAuditService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AuditOutboxDrainServiceTest {
+    private static final String OUTBOX_DDL = """
+            CREATE TABLE %s (
+                id BIGSERIAL PRIMARY KEY,
+                stage VARCHAR(255),
+                conversation_id VARCHAR(255),
+                trace_id VARCHAR(255),
+                source VARCHAR(32),
+                severity VARCHAR(32),
+                metadata JSONB,
+                audit_write_request JSONB,
+                canonical_envelope JSONB,
+                status VARCHAR(32) NOT NULL DEFAULT 'PENDING',
+                retry_count INT NOT NULL DEFAULT 0,
+                max_retries INT NOT NULL DEFAULT 5,
+                next_retry_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+                worker_id VARCHAR(255),
+                locked_at TIMESTAMPTZ,
+                processed_at TIMESTAMPTZ,
+                last_error TEXT,
+                created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+                updated_at TIMESTAMPTZ NOT NULL DEFAULT now()
+            )""";
+    private static final String EVENT_DDL = """
+            CREATE TABLE %s (
+                event_id UUID PRIMARY KEY,
+                event_time TIMESTAMPTZ NOT NULL,
+                event_type VARCHAR(255) NOT NULL,
+                severity VARCHAR(32) NOT NULL,
+                source VARCHAR(32) NOT NULL,
+                service_name VARCHAR(255),
+                service_version VARCHAR(255),
+                environment VARCHAR(255),
+                session_id VARCHAR(255),
+                conversation_id VARCHAR(255),
+                group_id VARCHAR(255),
+                interaction_id VARCHAR(255),
+                trace_id VARCHAR(255),
+                span_id VARCHAR(255),
+                idempotency_key VARCHAR(255) NOT NULL UNIQUE,
+                business_keys JSONB,
+                extra_map JSONB,
+                actor JSONB,
+                error_map JSONB,
+                event_payload JSONB
+            )""";
+    private static final String INSERT_OUTBOX = """
+            INSERT INTO %s (stage, conversation_id, source, severity, metadata, audit_write_request, canonical_envelope)
+            VALUES (?, ?, ?, ?, ?::jsonb, ?::jsonb, ?::jsonb)""";
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void startPostgres() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+    }
+
+    @AfterAll
+    static void stopPostgres() throws Exception {
+        postgres.close();
+    }
+
+    @Test
+    void inDatabaseModeMatchesPerRecordMode() throws Exception {
+        ObjectMapper mapper = AuditJson.mapper();
+        CanonicalAuditEnvelope envelope = CanonicalAuditEnvelope.builder()
+                .eventType("drain.test.envelope")
+                .source(AuditSource.API)
+                .severity(AuditSeverity.WARN)
+                .conversationId(UUID.randomUUID().toString())
+                .interactionId("interaction-1")
+                .extra("k", 1)
+                .build();
+        AuditWriteRequest uiRequest = AuditWriteRequest.builder()
+                .eventType("drain.test.request")
+                .source(AuditSource.UI)
+                .sessionId("session-1")
+                .conversationId(UUID.randomUUID().toString())
+                .groupId("group-1")
+                .build();
+        String flatConversationId = UUID.randomUUID().toString();
+
+        List<Object[]> rows = List.of(
+                new Object[]{null, null, null, null, null, null, mapper.writeValueAsString(envelope)},
+                // '{}' counts as empty: falls through to audit_write_request
+                new Object[]{null, null, null, null, null, mapper.writeValueAsString(uiRequest), "{}"},
+                // both JSON columns empty: falls through to the flat columns
+                new Object[]{"drain.test.flat", flatConversationId, "CRON", "ERROR", "{\"m\":true}", "{}", "{}"},
+                new Object[]{null, null, null, null, null, "{\"eventType\":\"   \",\"conversationId\":\"" + UUID.randomUUID() + "\"}", null},
+                new Object[]{"drain.test.bad", "not-a-uuid", null, null, null, null, null},
+                new Object[]{null, null, null, null, null, "{\"eventType\":\"drain.test.ui\",\"source\":\"UI\",\"conversationId\":\"" + UUID.randomUUID() + "\"}", null},
+                // same idempotency key as the first row
+                new Object[]{null, null, null, null, null, null, mapper.writeValueAsString(envelope.toBuilder().eventId(UUID.randomUUID()).build())}
+        );
+
+        drain(OutboxDrainMode.IN_DATABASE, "outbox_in_database", "event_in_database", rows);
+        drain(OutboxDrainMode.PER_RECORD, "outbox_per_record", "event_per_record", rows);
+
+        List<Map<String, Object>> inDatabaseOutbox = outbox("outbox_in_database");
+        assertEquals(outbox("outbox_per_record"), inDatabaseOutbox);
+        assertEquals(List.of("SENT", "SENT", "SENT", "PENDING", "PENDING", "PENDING", "SENT"),
+                inDatabaseOutbox.stream().map(row -> row.get("status")).toList());
+
+        List<Map<String, Object>> inDatabaseEvents = events("event_in_database");
+        assertEquals(events("event_per_record"), inDatabaseEvents);
+        DefaultIdempotencyKeyFactory keyFactory = new DefaultIdempotencyKeyFactory();
+        CanonicalAuditEnvelope flat = CanonicalAuditEnvelope.builder()
+                .eventType("drain.test.flat")
+                .source(AuditSource.CRON)
+                .conversationId(flatConversationId)
+                .build();
+        assertEquals(
+                List.of(
+                        keyFactory.create(envelope),
+                        keyFactory.create(flat),
+                        keyFactory.create(CanonicalAuditEnvelope.fromWriteRequest(uiRequest, uiRequest.getSeverity()))
+                ),
+                inDatabaseEvents.stream().map(row -> row.get("idempotency_key")).toList()
+        );
+    }
+
+    private void drain(OutboxDrainMode mode, String outboxTable, String eventTable, List<Object[]> rows) {
+        jdbcTemplate.execute(OUTBOX_DDL.formatted(outboxTable));
+        jdbcTemplate.execute(EVENT_DDL.formatted(eventTable));
+        for (Object[] row : rows) {
+            jdbcTemplate.update(INSERT_OUTBOX.formatted(outboxTable), row);
+        }
+
+        AuditConnectorProperties properties = new AuditConnectorProperties();
+        properties.setAsyncJpaPublish(false);
+        properties.getOutboxDrain().setTable(outboxTable);
+        properties.getOutboxDrain().setMode(mode);
+        AuditEventJdbcWriter writer = new AuditEventJdbcWriter(jdbcTemplate, AuditJson.mapper(), eventTable, AuditStorageProfile.FULL);
+        DefaultIdempotencyKeyFactory keyFactory = new DefaultIdempotencyKeyFactory();
+        JpaAuditPublisher publisher = new JpaAuditPublisher(null, writer, keyFactory, properties, null, null, null, null);
+
+        new AuditOutboxDrainService(jdbcTemplate, new DefaultAuditService(publisher), properties, null, writer).drain(1, 100);
+    }
+
+    private List<Map<String, Object>> outbox(String table) {
+        return jdbcTemplate.queryForList("SELECT status, retry_count, last_error FROM " + table + " ORDER BY id");
+    }
+
+    private List<Map<String, Object>> events(String table) {
+        return jdbcTemplate.queryForList("""
+                SELECT event_type, severity, source, session_id, conversation_id, group_id, interaction_id,
+                       idempotency_key, extra_map::text AS extra_map
+                FROM %s
+                ORDER BY event_type""".formatted(table));
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.salilvnair.auditx.starter.persistence;
+
+import com.github.salilvnair.auditx.core.model.CanonicalAuditEnvelope;
+import com.github.salilvnair.auditx.core.persistence.AuditStorageProfile;
+import com.github.salilvnair.auditx.starter.json.AuditJson;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuditEventJdbcWriterTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "'', H2",
+            ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE, H2_POSTGRESQL"
+    })
+    void insertIfAbsentSkipsDuplicatesInEveryH2Mode(String urlOptions, AuditSqlDialect expectedDialect) throws Exception {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1" + urlOptions));
+        jdbcTemplate.execute(new ClassPathResource("auditx-sink-test-schema.sql").getContentAsString(StandardCharsets.UTF_8));
+        AuditEventJdbcWriter writer = new AuditEventJdbcWriter(jdbcTemplate, AuditJson.mapper(), "auditx_event", AuditStorageProfile.FULL);
+
+        assertEquals(expectedDialect, writer.dialect());
+
+        CanonicalAuditEnvelope first = event("writer.test.first");
+        assertTrue(writer.insertIfAbsent(first));
+        assertFalse(writer.insertIfAbsent(first.toBuilder().eventId(UUID.randomUUID()).build()));
+
+        CanonicalAuditEnvelope second = event("writer.test.second");
+        int[] counts = writer.insertBatchIfAbsent(List.of(first.toBuilder().eventId(UUID.randomUUID()).build(), second));
+        assertArrayEquals(new int[]{0, 1}, counts);
+
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT count(*) FROM auditx_event", Integer.class));
+    }
+
+    private CanonicalAuditEnvelope event(String eventType) {
+        return CanonicalAuditEnvelope.builder()
+                .eventType(eventType)
+                .conversationId(UUID.randomUUID().toString())
+                .idempotencyKey(UUID.randomUUID().toString())
+                .extra("k", 1)
+                .build();
+    }
+}
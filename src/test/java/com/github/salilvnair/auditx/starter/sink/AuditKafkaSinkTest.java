@@ -0,0 +1,176 @@
+package com.github.salilvnair.auditx.starter.sink;
+
+import com.github.salilvnair.auditx.core.model.CanonicalAuditEnvelope;
+import com.github.salilvnair.auditx.core.persistence.AuditStorageProfile;
+import com.github.salilvnair.auditx.core.service.DefaultIdempotencyKeyFactory;
+import com.github.salilvnair.auditx.starter.config.AuditConnectorProperties;
+import com.github.salilvnair.auditx.starter.config.AuditCopyFormat;
+import com.github.salilvnair.auditx.starter.json.AuditJson;
+import com.github.salilvnair.auditx.starter.persistence.AuditEventBulkLoader;
+import com.github.salilvnair.auditx.starter.persistence.AuditEventJdbcWriter;
+import com.github.salilvnair.auditx.starter.provider.KafkaPayloadEncoder;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@EmbeddedKafka(partitions = 1, topics = AuditKafkaSinkTest.TOPIC)
+class AuditKafkaSinkTest {
+    static final String TOPIC = "auditx.sink.test";
+    private static final String GROUP = "auditx-sink-test";
+    private static final TopicPartition PARTITION = new TopicPartition(TOPIC, 0);
+
+    private final AtomicBoolean databaseDown = new AtomicBoolean();
+    private JdbcTemplate jdbcTemplate;
+    private AuditKafkaSink sink;
+    private DefaultKafkaProducerFactory<String, String> producerFactory;
+    private KafkaTemplate<String, String> kafkaTemplate;
+    private Admin admin;
+
+    @BeforeEach
+    void setUp(EmbeddedKafkaBroker broker) throws Exception {
+        DriverManagerDataSource h2 = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        DelegatingDataSource dataSource = new DelegatingDataSource(h2) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (databaseDown.get()) {
+                    throw new SQLTransientConnectionException("database down");
+                }
+                return super.getConnection();
+            }
+        };
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute(new ClassPathResource("auditx-sink-test-schema.sql").getContentAsString(StandardCharsets.UTF_8));
+
+        AuditEventJdbcWriter writer = new AuditEventJdbcWriter(jdbcTemplate, AuditJson.mapper(), "auditx_event", AuditStorageProfile.FULL);
+        writer.dialect();
+        AuditEventBulkLoader bulkLoader = new AuditEventBulkLoader(
+                writer,
+                jdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                AuditJson.mapper(),
+                AuditCopyFormat.CSV
+        );
+
+        AuditConnectorProperties properties = new AuditConnectorProperties();
+        properties.getKafkaSink().setTopic(TOPIC);
+        properties.getKafkaSink().setGroupId(GROUP);
+        properties.getKafkaSink().setRetryBackoffMs(50);
+        properties.getKafkaSink().setMaxRetryBackoffMs(200);
+        properties.getKafkaSink().setMaxWriteRetries(2);
+        DefaultKafkaConsumerFactory<Object, Object> consumerFactory = new DefaultKafkaConsumerFactory<>(Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest"
+        ));
+        sink = new AuditKafkaSink(consumerFactory, bulkLoader, new DefaultIdempotencyKeyFactory(), properties);
+
+        producerFactory = new DefaultKafkaProducerFactory<>(
+                Map.of(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString()),
+                new StringSerializer(),
+                new StringSerializer()
+        );
+        kafkaTemplate = new KafkaTemplate<>(producerFactory);
+        admin = Admin.create(Map.of(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        sink.stop();
+        admin.close();
+        producerFactory.destroy();
+    }
+
+    @Test
+    void commitsOffsetsOnlyAfterRowsAreWrittenAndSkipsBadRecords() throws Exception {
+        databaseDown.set(true);
+        sink.start();
+        for (int i = 0; i < 5; i++) {
+            send(event("sink.test." + i, UUID.randomUUID().toString(), null));
+        }
+        Thread.sleep(2000);
+        assertNull(committedOffset(), "offsets must not be committed while the database is down");
+
+        databaseDown.set(false);
+        await(() -> rowCount() == 5 && Long.valueOf(5).equals(committedOffset()));
+
+        send(event("sink.test.rejected", "not-a-uuid", null));
+        send(event("sink.test.unwritable", UUID.randomUUID().toString(), "x".repeat(300)));
+        send(event("sink.test.after", UUID.randomUUID().toString(), null));
+        await(() -> Long.valueOf(8).equals(committedOffset()));
+
+        assertEquals(6, rowCount());
+        AuditKafkaSinkStats stats = sink.stats();
+        assertEquals(1, stats.getRejected());
+        assertEquals(1, stats.getUnwritable());
+        assertEquals(6, stats.getInserted());
+    }
+
+    private CanonicalAuditEnvelope event(String eventType, String conversationId, String serviceName) {
+        return CanonicalAuditEnvelope.builder()
+                .eventType(eventType)
+                .conversationId(conversationId)
+                .serviceName(serviceName)
+                .build();
+    }
+
+    private void send(CanonicalAuditEnvelope envelope) throws Exception {
+        String value = KafkaPayloadEncoder.jsonString(AuditJson.mapper()).encode(envelope);
+        kafkaTemplate.send(TOPIC, envelope.getEventId().toString(), value).get();
+    }
+
+    private long rowCount() {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM auditx_event", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private Long committedOffset() throws Exception {
+        OffsetAndMetadata offset = admin.listConsumerGroupOffsets(GROUP)
+                .partitionsToOffsetAndMetadata()
+                .get()
+                .get(PARTITION);
+        return offset == null ? null : offset.offset();
+    }
+
+    private void await(ThrowingCondition condition) throws Exception {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (!condition.met()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out waiting for the sink");
+            Thread.sleep(100);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThrowingCondition {
+        boolean met() throws Exception;
+    }
+}
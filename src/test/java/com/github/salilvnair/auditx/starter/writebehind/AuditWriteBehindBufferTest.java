@@ -0,0 +1,86 @@
+package com.github.salilvnair.auditx.starter.writebehind;
+
+import com.github.salilvnair.auditx.core.model.CanonicalAuditEnvelope;
+import com.github.salilvnair.auditx.core.persistence.AuditStorageProfile;
+import com.github.salilvnair.auditx.starter.config.AuditConnectorProperties;
+import com.github.salilvnair.auditx.starter.json.AuditJson;
+import com.github.salilvnair.auditx.starter.persistence.AuditEventJdbcWriter;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class AuditWriteBehindBufferTest {
+    private static final int PRODUCERS = 4;
+
+    @Test
+    void everyAcceptedOfferIsWrittenWhenStopRacesProducers() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute(new ClassPathResource("auditx-sink-test-schema.sql").getContentAsString(StandardCharsets.UTF_8));
+        AuditEventJdbcWriter writer = new AuditEventJdbcWriter(jdbcTemplate, AuditJson.mapper(), "auditx_event", AuditStorageProfile.FULL);
+
+        AuditConnectorProperties properties = new AuditConnectorProperties();
+        properties.getWriteBehind().setFlushSize(50);
+        properties.getWriteBehind().setFlushIntervalMs(1);
+        properties.getWriteBehind().setShutdownFlushDeadlineMs(30_000);
+
+        for (int round = 0; round < 20; round++) {
+            AuditWriteBehindBuffer buffer = new AuditWriteBehindBuffer(
+                    writer,
+                    null,
+                    new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                    null,
+                    properties
+            );
+            buffer.start();
+
+            AtomicLong accepted = new AtomicLong();
+            CountDownLatch ready = new CountDownLatch(PRODUCERS);
+            List<Thread> producers = new ArrayList<>();
+            for (int i = 0; i < PRODUCERS; i++) {
+                Thread producer = new Thread(() -> {
+                    ready.countDown();
+                    while (buffer.offer(event())) {
+                        accepted.incrementAndGet();
+                    }
+                });
+                producers.add(producer);
+                producer.start();
+            }
+            ready.await();
+            Thread.sleep(5);
+            buffer.stop();
+            for (Thread producer : producers) {
+                producer.join();
+            }
+
+            assertFalse(buffer.offer(event()), "a stopped buffer must hand the event back to the caller");
+            assertEquals(0, buffer.getPendingCount());
+            assertEquals(accepted.get(), buffer.getFlushedCount());
+            assertEquals(accepted.get(), jdbcTemplate.queryForObject("SELECT count(*) FROM auditx_event", Long.class));
+            jdbcTemplate.update("DELETE FROM auditx_event");
+        }
+    }
+
+    private CanonicalAuditEnvelope event() {
+        return CanonicalAuditEnvelope.builder()
+                .eventType("write-behind.test")
+                .conversationId(UUID.randomUUID().toString())
+                .idempotencyKey(UUID.randomUUID().toString())
+                .build();
+    }
+}
@@ -0,0 +1,24 @@
+CREATE TABLE IF NOT EXISTS auditx_event (
+    event_id UUID NOT NULL,
+    event_time TIMESTAMP NOT NULL,
+    event_type VARCHAR(255) NOT NULL,
+    severity VARCHAR(32) NOT NULL,
+    source VARCHAR(32) NOT NULL,
+    service_name VARCHAR(255),
+    service_version VARCHAR(255),
+    environment VARCHAR(255),
+    session_id VARCHAR(255),
+    conversation_id VARCHAR(255),
+    group_id VARCHAR(255),
+    interaction_id VARCHAR(255),
+    trace_id VARCHAR(255),
+    span_id VARCHAR(255),
+    idempotency_key VARCHAR(255) NOT NULL,
+    business_keys JSON,
+    extra_map JSON,
+    actor JSON,
+    error_map JSON,
+    event_payload JSON,
+    CONSTRAINT auditx_event_pkey PRIMARY KEY (event_id),
+    CONSTRAINT uk_auditx_event_idempotency_key UNIQUE (idempotency_key)
+);